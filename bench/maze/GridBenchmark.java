@@ -0,0 +1,71 @@
+package maze;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Operações na grade que a interface faz a cada clique: clone() (MazeGrid.copy),
+// restore() (MazeGrid.copyFrom, sem o JFrame) e a geração de labirintos novos.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+
+    @Param({"64", "512", "2048"})
+    public int size;
+
+    private MazeGrid grid;
+    private MazeGrid saved;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        grid = Grids.random(size, 0.3, 42);
+        saved = grid.copy();
+    }
+
+    @Benchmark
+    public MazeGrid copy() {
+        return grid.copy();
+    }
+
+    @Benchmark
+    public MazeGrid restore() {
+        grid.copyFrom(saved);
+        return grid;
+    }
+
+    // semente diferente a cada chamada, para não medir sempre o mesmo labirinto
+    @Benchmark
+    public MazeGrid generateBacktracker() {
+        return MazeGenerator.recursiveBacktracker(size + 1, size + 1, seed++);
+    }
+
+    @Benchmark
+    public MazeGrid generateKruskal() {
+        return MazeGenerator.kruskal(size + 1, size + 1, seed++);
+    }
+
+    @Benchmark
+    public MazeGrid generateEller() {
+        return MazeGenerator.eller(size + 1, size + 1, seed++);
+    }
+
+    @Benchmark
+    public MazeGrid generateTiled() {
+        return TiledMazeGenerator.generate(size + 1, size + 1, seed++);
+    }
+}
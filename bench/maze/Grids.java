@@ -0,0 +1,27 @@
+package maze;
+
+import java.util.SplittableRandom;
+
+// Grades de entrada dos benchmarks: paredes espalhadas ao acaso com a densidade pedida,
+// sempre com a mesma semente, início no canto de cima e objetivo no canto de baixo.
+final class Grids {
+
+    private Grids() {
+    }
+
+    static MazeGrid random(int size, double density, long seed) {
+        MazeGrid grid = new MazeGrid(size, size);
+        SplittableRandom rnd = new SplittableRandom(seed);
+        for (int k = 0; k < grid.size(); k++) {
+            if (rnd.nextDouble() < density) {
+                grid.set(k, MazeGrid.X);
+            }
+        }
+        // os cantos podem ter recebido parede, e setStart/setGoal recusam parede
+        grid.set(0, MazeGrid.C);
+        grid.set(grid.size() - 1, MazeGrid.C);
+        grid.setStart(0, 0);
+        grid.setGoal(size - 1, size - 1);
+        return grid;
+    }
+}
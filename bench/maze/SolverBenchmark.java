@@ -0,0 +1,89 @@
+package maze;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Buscas do início ao objetivo em grades aleatórias de vários tamanhos e densidades de
+// parede. Os solvers são criados uma vez por combinação de parâmetros, então a medida
+// inclui o reaproveitamento dos buffers (como em produção), e não a primeira alocação.
+// Rodar com "ant bench" (usa -prof gc para mostrar bytes alocados por operação).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"64", "512", "2048"})
+    public int size;
+
+    @Param({"0.1", "0.3"})
+    public double density;
+
+    private MazeGrid grid;
+    private MazeSolver solver;
+    private AStarSolver informed;
+    private BitGrid bits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        grid = Grids.random(size, density, 42);
+        solver = new MazeSolver(grid);
+        informed = new AStarSolver(grid);
+        bits = BitGrid.fromGrid(grid);
+    }
+
+    // modo antigo, com LinkedList<MazePos>
+    @Benchmark
+    public SolveResult bfsLinkedList() {
+        return solver.solveQueue();
+    }
+
+    @Benchmark
+    public SolveResult bfsPacked() {
+        return solver.solveQueuePacked();
+    }
+
+    @Benchmark
+    public SolveResult dfsStack() {
+        return solver.solveStack();
+    }
+
+    @Benchmark
+    public SolveResult bfsBidirectional() {
+        return solver.solveBidirectional();
+    }
+
+    // com grades abaixo do limiar do ParallelBfs cai na BFS sequencial
+    @Benchmark
+    public SolveResult bfsParallel() {
+        return solver.solveParallel();
+    }
+
+    @Benchmark
+    public SolveResult aStar() {
+        return informed.solveAStar();
+    }
+
+    @Benchmark
+    public SolveResult jumpPoint() {
+        return informed.solveJumpPoint();
+    }
+
+    @Benchmark
+    public boolean bitGridReachable() {
+        return bits.isReachable(grid.startRow(), grid.startCol(), grid.goalRow(), grid.goalCol());
+    }
+}
@@ -0,0 +1,47 @@
+package maze;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// Evento do Java Flight Recorder para cada busca. Só é gravado com uma gravação ligada:
+//   java -XX:StartFlightRecording:filename=maze.jfr -jar Maze.jar
+//   jfr print --events maze.Solve maze.jfr
+@Name("maze.Solve")
+@Label("Busca no labirinto")
+@Category("Maze")
+@Description("Uma busca de um solver, com as métricas do SolveStats")
+class SolveEvent extends jdk.jfr.Event {
+
+    @Label("Algoritmo")
+    String algorithm;
+
+    @Label("Células")
+    int cells;
+
+    @Label("Achou")
+    boolean found;
+
+    @Label("Expandidas")
+    int expanded;
+
+    @Label("Maior fronteira")
+    int peakFrontier;
+
+    @Label("Vizinhos testados")
+    long edgesInspected;
+
+    @Label("Tamanho do caminho")
+    int pathLength;
+
+    @Label("Tempo da busca")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Alocado")
+    @DataAmount(DataAmount.BYTES)
+    long allocated;
+}
@@ -0,0 +1,36 @@
+package maze;
+
+import jdk.jfr.EventType;
+
+// Ponte entre o SolveMetrics e o Flight Recorder. Só esta classe (e o SolveEvent) usa o
+// módulo jdk.jfr: as duas ficam em src-jfr e são compiladas à parte para Java 11 (ver
+// build.xml), e o SolveMetrics só carrega esta classe, por nome, depois de ver que
+// jdk.jfr.Event existe. Assim o resto compila para Java 8 e as buscas rodam também em uma
+// JVM sem o JFR (ex: imagem do jlink sem jdk.jfr).
+final class SolveEvents implements SolveRecorder {
+
+    private final static EventType EVENT = EventType.getEventType(SolveEvent.class);
+
+    // alguma gravação quer o evento?
+    @Override
+    public boolean isEnabled() {
+        return EVENT.isEnabled();
+    }
+
+    @Override
+    public void record(SolveStats stats) {
+        SolveEvent event = new SolveEvent();
+        if (event.shouldCommit()) {
+            event.algorithm = stats.algorithm();
+            event.cells = stats.cells();
+            event.found = stats.found();
+            event.expanded = stats.expanded();
+            event.peakFrontier = stats.peakFrontier();
+            event.edgesInspected = stats.edgesInspected();
+            event.pathLength = stats.pathLength();
+            event.elapsed = stats.elapsedNanos();
+            event.allocated = stats.allocatedBytes();
+            event.commit();
+        }
+    }
+}
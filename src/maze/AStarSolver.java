@@ -0,0 +1,314 @@
+package maze;
+
+import java.util.Arrays;
+
+// Buscas informadas na grade 4-conectada de custo uniforme: A* com heurística de Manhattan
+// e Jump Point Search (JPS) adaptada para movimentos só na horizontal e na vertical.
+// Assim como o MazeSolver, reaproveita os buffers entre buscas e não é thread-safe.
+public class AStarSolver {
+
+    private final MazeGrid grid;
+
+    private byte[] visitedCells;   // direção de chegada (mesmos códigos do MazeSolver), 0 = não visitada
+    private int[] cost;            // custo g de cada célula visitada
+    private int[] parent;          // jump point anterior (só na JPS, onde o pai não é vizinho)
+    private IntMinHeap open;       // fronteira ordenada por f = g + h
+
+    private int goalRow, goalCol;  // objetivo da busca atual, para a heurística
+    private long scanned;          // células percorridas pelos saltos da JPS (métricas)
+    private SolveMonitor monitor;  // null = ninguém acompanhando
+
+    public AStarSolver(MazeGrid grid) {
+        this.grid = grid;
+    }
+
+    // recebe as células descobertas e pode cancelar a busca (ver SolveMonitor)
+    public void setMonitor(SolveMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    public SolveResult solveAStar() {
+        return solveAStar(grid.start(), grid.goal());
+    }
+
+    // A* com heurística de Manhattan (admissível e consistente na grade 4-conectada),
+    // então cada célula sai do heap no máximo uma vez e o caminho é o mais curto
+    public SolveResult solveAStar(int start, int goal) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (!MazeSolver.canSearch(grid, start, goal)) {
+            return MazeSolver.unreachable(Algorithm.ASTAR.toString(), grid, startTime, metrics);
+        }
+        prepare(goal, false);
+
+        int cols = grid.width();
+        int cells = grid.size();
+        byte[] maze = grid.cells();
+        byte[] seen = visitedCells;
+
+        seen[start] = MazeSolver.FROM_START;
+        cost[start] = 0;
+        open.offer(start, key(0, start));
+        int visited = 1;
+        int expanded = 0;
+        int peak = 1;
+        boolean found = false;
+
+        while (!open.isEmpty()) {
+            peak = Math.max(peak, open.size());
+            int crt = open.poll();
+            expanded++;
+            if (crt == goal) {
+                found = true;
+                break;
+            }
+
+            int j = crt % cols;
+            int g = cost[crt] + 1;
+            int next;
+
+            //cima
+            next = crt - cols;
+            if (next >= 0 && MazeGrid.isClear(maze[next]) && (seen[next] == 0 || g < cost[next])) {
+                visited += relax(next, g, MazeSolver.FROM_SOUTH);
+            }
+            //direita
+            next = crt + 1;
+            if (j + 1 < cols && MazeGrid.isClear(maze[next]) && (seen[next] == 0 || g < cost[next])) {
+                visited += relax(next, g, MazeSolver.FROM_WEST);
+            }
+            //esquerda
+            next = crt - 1;
+            if (j > 0 && MazeGrid.isClear(maze[next]) && (seen[next] == 0 || g < cost[next])) {
+                visited += relax(next, g, MazeSolver.FROM_EAST);
+            }
+            //baixo
+            next = crt + cols;
+            if (next < cells && MazeGrid.isClear(maze[next]) && (seen[next] == 0 || g < cost[next])) {
+                visited += relax(next, g, MazeSolver.FROM_NORTH);
+            }
+        }
+
+        int[] path = found ? MazeSolver.tracePath(seen, goal, cols) : null;
+        SolveResult result = new SolveResult(found, visited, seen, cols, path, System.nanoTime() - startTime);
+        return SolveMetrics.report(Algorithm.ASTAR.toString(), cells, result, expanded, peak, 4L * expanded, metrics);
+    }
+
+    // atualiza custo e direção de chegada; retorna 1 se a célula foi descoberta agora
+    private int relax(int next, int g, byte from) {
+        int discovered = visitedCells[next] == 0 ? 1 : 0;
+        if (discovered == 1 && monitor != null) {
+            monitor.discovered(next);
+        }
+        visitedCells[next] = from;
+        cost[next] = g;
+        open.offer(next, key(g, next));
+        return discovered;
+    }
+
+    public SolveResult solveJumpPoint() {
+        return solveJumpPoint(grid.start(), grid.goal());
+    }
+
+    // Jump Point Search na grade 4-conectada. Ordem canônica: entre caminhos de mesmo
+    // tamanho, prefere andar na vertical primeiro. Saltos horizontais só param no objetivo
+    // ou em um vizinho forçado (vizinho vertical livre cuja célula anterior é parede);
+    // saltos verticais param onde um salto horizontal partindo dali encontra algo.
+    // Só os jump points entram no heap, o que corta as expansões em áreas abertas.
+    public SolveResult solveJumpPoint(int start, int goal) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (!MazeSolver.canSearch(grid, start, goal)) {
+            return MazeSolver.unreachable(Algorithm.JUMP_POINT.toString(), grid, startTime, metrics);
+        }
+        prepare(goal, true);
+        scanned = 0;
+
+        int cols = grid.width();
+        byte[] seen = visitedCells;
+
+        seen[start] = MazeSolver.FROM_START;
+        cost[start] = 0;
+        parent[start] = start;
+        open.offer(start, key(0, start));
+        int visited = 1;
+        int expanded = 0;
+        int peak = 1;
+        boolean found = false;
+
+        while (!open.isEmpty()) {
+            peak = Math.max(peak, open.size());
+            int crt = open.poll();
+            expanded++;
+            if (crt == goal) {
+                found = true;
+                break;
+            }
+
+            int row = crt / cols;
+            switch (seen[crt]) {
+                case MazeSolver.FROM_WEST:     // chegou andando para a direita
+                case MazeSolver.FROM_EAST: {   // chegou andando para a esquerda
+                    int dx = seen[crt] == MazeSolver.FROM_WEST ? 1 : -1;
+                    visited += addJump(crt, jumpHorizontal(crt, dx, goal));
+                    if (row > 0 && isFree(crt - cols) && !isFree(crt - cols - dx)) {
+                        visited += addJump(crt, jumpVertical(crt, -1, goal));
+                    }
+                    if (crt + cols < grid.size() && isFree(crt + cols) && !isFree(crt + cols - dx)) {
+                        visited += addJump(crt, jumpVertical(crt, 1, goal));
+                    }
+                    break;
+                }
+                case MazeSolver.FROM_SOUTH:    // chegou andando para cima
+                case MazeSolver.FROM_NORTH: {  // chegou andando para baixo
+                    int dy = seen[crt] == MazeSolver.FROM_NORTH ? 1 : -1;
+                    visited += addJump(crt, jumpVertical(crt, dy, goal));
+                    visited += addJump(crt, jumpHorizontal(crt, 1, goal));
+                    visited += addJump(crt, jumpHorizontal(crt, -1, goal));
+                    break;
+                }
+                default: {                     // célula inicial: todas as direções
+                    visited += addJump(crt, jumpVertical(crt, -1, goal));
+                    visited += addJump(crt, jumpVertical(crt, 1, goal));
+                    visited += addJump(crt, jumpHorizontal(crt, 1, goal));
+                    visited += addJump(crt, jumpHorizontal(crt, -1, goal));
+                }
+            }
+        }
+
+        int[] path = found ? expandJumps(start, goal) : null;
+        SolveResult result = new SolveResult(found, visited, seen, cols, path, System.nanoTime() - startTime);
+        return SolveMetrics.report(Algorithm.JUMP_POINT.toString(), grid.size(), result, expanded, peak, scanned,
+                metrics);
+    }
+
+    // coloca o jump point na fronteira; retorna 1 se ele foi descoberto agora
+    private int addJump(int from, int jump) {
+        if (jump < 0) {
+            return 0;
+        }
+        int cols = grid.width();
+        int dr = jump / cols - from / cols;
+        int dc = jump % cols - from % cols;
+        int g = cost[from] + Math.abs(dr) + Math.abs(dc);
+        if (visitedCells[jump] != 0 && g >= cost[jump]) {
+            return 0;
+        }
+        int discovered = visitedCells[jump] == 0 ? 1 : 0;
+        if (discovered == 1 && monitor != null) {
+            monitor.discovered(jump);
+        }
+        if (dr == 0) {
+            visitedCells[jump] = dc > 0 ? MazeSolver.FROM_WEST : MazeSolver.FROM_EAST;
+        } else {
+            visitedCells[jump] = dr > 0 ? MazeSolver.FROM_NORTH : MazeSolver.FROM_SOUTH;
+        }
+        cost[jump] = g;
+        parent[jump] = from;
+        open.offer(jump, key(g, jump));
+        return discovered;
+    }
+
+    // anda na horizontal até o objetivo, um vizinho forçado ou uma parede (-1)
+    private int jumpHorizontal(int cell, int dx, int goal) {
+        int cols = grid.width();
+        int rows = grid.height();
+        int row = cell / cols;
+        int col = cell % cols;
+        while (true) {
+            col += dx;
+            scanned++;
+            if (col < 0 || col >= cols) {
+                return -1;
+            }
+            int idx = row * cols + col;
+            if (!isFree(idx)) {
+                return -1;
+            }
+            if (idx == goal) {
+                return idx;
+            }
+            if (row > 0 && isFree(idx - cols) && !isFree(idx - cols - dx)) {
+                return idx;
+            }
+            if (row + 1 < rows && isFree(idx + cols) && !isFree(idx + cols - dx)) {
+                return idx;
+            }
+        }
+    }
+
+    // anda na vertical até o objetivo, uma parede (-1) ou uma célula de onde um salto
+    // horizontal encontra um jump point
+    private int jumpVertical(int cell, int dy, int goal) {
+        int cols = grid.width();
+        int rows = grid.height();
+        int row = cell / cols;
+        int col = cell % cols;
+        while (true) {
+            row += dy;
+            scanned++;
+            if (row < 0 || row >= rows) {
+                return -1;
+            }
+            int idx = row * cols + col;
+            if (!isFree(idx)) {
+                return -1;
+            }
+            if (idx == goal) {
+                return idx;
+            }
+            if (jumpHorizontal(idx, 1, goal) >= 0 || jumpHorizontal(idx, -1, goal) >= 0) {
+                return idx;
+            }
+        }
+    }
+
+    // liga os jump points do caminho com segmentos retos, célula a célula
+    private int[] expandJumps(int start, int goal) {
+        int cols = grid.width();
+        int[] path = new int[cost[goal] + 1];
+        int k = path.length - 1;
+        int crt = goal;
+        while (crt != start) {
+            int from = parent[crt];
+            int step = (crt / cols == from / cols) ? (crt > from ? 1 : -1) : (crt > from ? cols : -cols);
+            for (int c = crt; c != from; c -= step) {
+                path[k--] = c;
+            }
+            crt = from;
+        }
+        path[k] = start;
+        return path;
+    }
+
+    // zera os buffers da busca (só os que dependem do tamanho da grade)
+    private void prepare(int goal, boolean jumps) {
+        int cells = grid.size();
+        if (visitedCells == null || visitedCells.length != cells) {
+            visitedCells = new byte[cells];
+            cost = new int[cells];
+            open = new IntMinHeap(cells);
+            parent = null;
+        } else {
+            Arrays.fill(visitedCells, (byte) 0);
+            open.clear();
+        }
+        if (jumps && parent == null) {
+            parent = new int[cells];
+        }
+        goalRow = grid.row(goal);
+        goalCol = grid.col(goal);
+    }
+
+    // prioridade no heap: f = g + h, desempatando pelo menor h (mais perto do objetivo)
+    private long key(int g, int cell) {
+        int cols = grid.width();
+        int h = Math.abs(cell / cols - goalRow) + Math.abs(cell % cols - goalCol);
+        return ((long) (g + h) << 32) | h;
+    }
+
+    private boolean isFree(int index) {
+        return grid.isClear(index);
+    }
+
+}
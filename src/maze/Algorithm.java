@@ -0,0 +1,47 @@
+package maze;
+
+// Algoritmos de busca disponíveis, para escolher na interface ou em processamento em lote.
+public enum Algorithm {
+
+    BFS("BFS"),
+    BFS_BIDIRECTIONAL("BFS bidirecional"),
+    BFS_PARALLEL("BFS paralela"),
+    DFS("DFS (pilha)"),
+    ASTAR("A*"),
+    JUMP_POINT("Jump Point Search"),
+    DIJKSTRA("Dijkstra (custos)"),
+    ZERO_ONE_BFS("BFS 0-1 (custos 0/1)");
+
+    private final String label;   // nome mostrado na interface
+
+    Algorithm(String label) {
+        this.label = label;
+    }
+
+    // executar o algoritmo do início ao objetivo da grade do solver
+    public SolveResult solve(MazeSolver solver) {
+        switch (this) {
+            case BFS_BIDIRECTIONAL:
+                return solver.solveBidirectional();
+            case BFS_PARALLEL:
+                return solver.solveParallel();
+            case DFS:
+                return solver.solveStack();
+            case ASTAR:
+                return solver.solveAStar();
+            case JUMP_POINT:
+                return solver.solveJumpPoint();
+            case DIJKSTRA:
+                return solver.solveDijkstra();
+            case ZERO_ONE_BFS:
+                return solver.solveZeroOne();
+            default:
+                return solver.solveQueuePacked();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,175 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Muitas consultas (início, objetivo) sobre o mesmo labirinto, em várias threads. A grade é
+// compartilhada e nunca é escrita (não pode ser alterada enquanto houver consultas rodando);
+// cada thread tem os seus buffers. Os visitados não são zerados a cada consulta: cada célula
+// guarda a época (número da consulta) em que foi visitada, então começar uma busca nova é
+// só incrementar a época, em vez de limpar o labirinto inteiro.
+public class BatchSolver implements AutoCloseable {
+
+    private final MazeGrid grid;
+    private final ExecutorService workers;
+    private final ThreadLocal<Worker> buffers;
+
+    public BatchSolver(MazeGrid grid) {
+        this(grid, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchSolver(MazeGrid grid, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("quantidade de threads inválida: " + threads);
+        }
+        this.grid = grid;
+        // numeradas, para distinguir as threads em um thread dump ou no JFR
+        AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "maze-batch-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.buffers = ThreadLocal.withInitial(Worker::new);
+    }
+
+    public MazeGrid grid() { return grid; }
+
+    // agenda uma consulta; o SolveResult não traz as células exploradas (os buffers da
+    // thread são reaproveitados pela próxima consulta), só a contagem e o caminho
+    public Future<SolveResult> submit(int start, int goal) {
+        check(start);
+        check(goal);
+        return workers.submit(() -> buffers.get().solve(start, goal));
+    }
+
+    // resolve todas as consultas (starts[k], goals[k]) e devolve os resultados na mesma ordem
+    public SolveResult[] solveAll(int[] starts, int[] goals) {
+        if (starts.length != goals.length) {
+            throw new IllegalArgumentException("quantidade de inícios e objetivos diferente: "
+                    + starts.length + " e " + goals.length);
+        }
+        Future<?>[] pending = new Future<?>[starts.length];
+        for (int k = 0; k < starts.length; k++) {
+            pending[k] = submit(starts[k], goals[k]);
+        }
+        SolveResult[] results = new SolveResult[starts.length];
+        try {
+            for (int k = 0; k < pending.length; k++) {
+                results[k] = (SolveResult) pending[k].get();
+            }
+        } catch (InterruptedException e) {
+            for (Future<?> f : pending) {
+                f.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("consultas interrompidas", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("falha em uma consulta", e.getCause());
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    // fora da grade ou em uma parede: recusada já no submit, antes de ocupar uma thread
+    private void check(int cell) {
+        if (cell < 0 || cell >= grid.size()) {
+            throw new IllegalArgumentException("célula fora do labirinto: " + cell);
+        }
+        if (!grid.isClear(cell)) {
+            throw new IllegalArgumentException("célula bloqueada: " + cell);
+        }
+    }
+
+    // buffers de uma thread
+    private final class Worker {
+
+        private final int[] stamp = new int[grid.size()];        // época da última visita
+        private final byte[] directions = new byte[grid.size()]; // códigos FROM_* do MazeSolver
+        private final IntQueue queue = new IntQueue(Math.min(grid.size(), 1 << 16));
+        private int epoch;
+
+        SolveResult solve(int start, int goal) {
+            long metrics = SolveMetrics.begin();
+            long startTime = System.nanoTime();
+            if (++epoch == 0) {
+                // deu a volta no int: zera uma vez e recomeça
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+            queue.clear();
+
+            int cols = grid.width();
+            int cells = grid.size();
+            byte[] maze = grid.cells();
+            int now = epoch;
+
+            stamp[start] = now;
+            directions[start] = MazeSolver.FROM_START;
+            queue.add(start);
+            int visited = 1;
+            int expanded = 0;
+            int peak = 1;
+            boolean found = false;
+
+            while (!queue.isEmpty()) {
+                peak = Math.max(peak, queue.size());
+                int crt = queue.poll();
+                expanded++;
+                if (crt == goal) {
+                    found = true;
+                    break;
+                }
+
+                int j = crt % cols;
+                int next;
+
+                //cima
+                next = crt - cols;
+                if (next >= 0 && stamp[next] != now && MazeGrid.isClear(maze[next])) {
+                    visit(next, now, MazeSolver.FROM_SOUTH);
+                    visited++;
+                }
+                //direita
+                next = crt + 1;
+                if (j + 1 < cols && stamp[next] != now && MazeGrid.isClear(maze[next])) {
+                    visit(next, now, MazeSolver.FROM_WEST);
+                    visited++;
+                }
+                //esquerda
+                next = crt - 1;
+                if (j > 0 && stamp[next] != now && MazeGrid.isClear(maze[next])) {
+                    visit(next, now, MazeSolver.FROM_EAST);
+                    visited++;
+                }
+                //baixo
+                next = crt + cols;
+                if (next < cells && stamp[next] != now && MazeGrid.isClear(maze[next])) {
+                    visit(next, now, MazeSolver.FROM_NORTH);
+                    visited++;
+                }
+            }
+
+            // as direções antigas continuam no array, mas o caminho só passa por células
+            // desta época
+            int[] path = found ? MazeSolver.tracePath(directions, goal, cols) : null;
+            SolveResult result = new SolveResult(found, visited, null, cols, path, System.nanoTime() - startTime);
+            return SolveMetrics.report("BFS (lote)", cells, result, expanded, peak, 4L * expanded, metrics);
+        }
+
+        private void visit(int cell, int now, byte from) {
+            stamp[cell] = now;
+            directions[cell] = from;
+            queue.add(cell);
+        }
+    }
+
+}
@@ -0,0 +1,341 @@
+package maze;
+
+import java.util.Arrays;
+
+// Grade de paredes compactada em bits: cada linha é um long[] onde o bit 1 indica célula
+// livre (64 células por palavra). A BFS aqui não anda célula por célula: a fronteira inteira
+// é um bitset e cada nível é calculado com deslocamentos (esquerda, direita, cima, baixo),
+// AND com as células livres e AND-NOT com as visitadas, ou seja, 64 células por operação.
+// Serve para as perguntas de alcance e distância ("dá para chegar na saída?"), sem caminho.
+// Para alcance, isReachable() ainda espalha cada linha pelo trecho livre inteiro de uma vez,
+// o que é bem mais rápido que a BFS em áreas abertas. Já distance() anda um nível por vez e
+// só compensa quando a fronteira enche as palavras; em ondas finas (uma célula por linha)
+// a BFS compactada do MazeSolver continua mais rápida.
+public class BitGrid {
+
+    private final int width;
+    private final int height;
+    private final int words;     // palavras por linha
+    private final long[] free;   // height * words, bit 1 = célula livre
+
+    // buffers da busca, reaproveitados (por isso não é thread-safe)
+    private long[] visited;
+    private long[] frontier;
+    private long[] next;
+    private int[] frontierLo, frontierHi;   // palavras ativas da fronteira em cada linha (-1 = vazia)
+    private int[] nextLo, nextHi;
+    private IntQueue dirty;                 // linhas que precisam ser preenchidas de novo (isReachable)
+    private boolean[] queued;
+    private int expanded;                   // células alcançadas pela última busca (métricas)
+    private int peak;                       // maior fronteira dela (em isReachable, linhas na fila)
+
+    public BitGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.words = (width + 63) >>> 6;
+        this.free = new long[height * words];
+    }
+
+    public static BitGrid fromGrid(MazeGrid grid) {
+        BitGrid bits = new BitGrid(grid.width(), grid.height());
+        for (int i = 0; i < grid.height(); i++) {
+            for (int j = 0; j < grid.width(); j++) {
+                if (grid.isClear(i, j)) {
+                    bits.free[i * bits.words + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        return bits;
+    }
+
+    public static BitGrid fromMapped(MappedMaze maze) {
+        BitGrid bits = new BitGrid(maze.width(), maze.height());
+        int k = 0;
+        for (int i = 0; i < maze.height(); i++) {
+            for (int j = 0; j < maze.width(); j++, k++) {
+                if (!maze.isWall(k)) {
+                    bits.free[i * bits.words + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        return bits;
+    }
+
+    public int width() { return width; }
+
+    public int height() { return height; }
+
+    public boolean isFree(int i, int j) {
+        return (free[i * words + (j >>> 6)] & (1L << j)) != 0;
+    }
+
+    // muda uma célula para livre ou parede
+    public void setFree(int i, int j, boolean isFree) {
+        if (isFree) {
+            free[i * words + (j >>> 6)] |= 1L << j;
+        } else {
+            free[i * words + (j >>> 6)] &= ~(1L << j);
+        }
+    }
+
+    // alcance sem distância: preenchimento por linhas. Em cada linha, as sementes que vêm
+    // de cima ou de baixo se espalham pelo trecho livre inteiro de uma vez (soma com vai-um
+    // sobre a máscara de livres), e a linha só volta para a fila de trabalho quando os
+    // vizinhos dela mudam. O número de voltas depende dos trechos, não do tamanho do caminho.
+    public boolean isReachable(int startI, int startJ, int endI, int endJ) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        expanded = 0;
+        peak = 0;
+        boolean found = fill(startI, startJ, endI, endJ);
+        // só responde se alcança: não há caminho
+        SolveMetrics.report("Alcance (bits)", width * height, found, -1, System.nanoTime() - startTime,
+                expanded, peak, 4L * expanded, metrics);
+        return found;
+    }
+
+    private boolean fill(int startI, int startJ, int endI, int endJ) {
+        if (!isFree(startI, startJ) || !isFree(endI, endJ)) {
+            return false;
+        }
+        prepare();
+        if (dirty == null) {
+            dirty = new IntQueue(Math.min(height, 1 << 16));
+            queued = new boolean[height];
+        } else {
+            dirty.clear();
+            Arrays.fill(queued, false);
+        }
+
+        long[] reach = visited;
+        long[] seed = next;   // sementes da linha atual (só as primeiras "words" posições)
+        int goalWord = endI * words + (endJ >>> 6);
+        long goalBit = 1L << endJ;
+
+        reach[startI * words + (startJ >>> 6)] = 1L << startJ;
+        expanded = 1;
+        fillRow(startI, reach, seed, true);
+        enqueue(startI - 1);
+        enqueue(startI + 1);
+
+        while (!dirty.isEmpty()) {
+            peak = Math.max(peak, dirty.size());
+            int r = dirty.poll();
+            queued[r] = false;
+            if (fillRow(r, reach, seed, false)) {
+                if ((reach[goalWord] & goalBit) != 0) {
+                    return true;
+                }
+                enqueue(r - 1);
+                enqueue(r + 1);
+            }
+        }
+        return (reach[goalWord] & goalBit) != 0;
+    }
+
+    // espalha pela linha r tudo o que chega de cima, de baixo ou já está nela; retorna
+    // verdadeiro se a linha ganhou células novas (force: a linha ainda não foi preenchida)
+    private boolean fillRow(int r, long[] reach, long[] seed, boolean force) {
+        int base = r * words;
+        boolean any = false;
+        for (int k = 0; k < words; k++) {
+            long s = reach[base + k];
+            if (r > 0) {
+                s |= reach[base - words + k];
+            }
+            if (r + 1 < height) {
+                s |= reach[base + words + k];
+            }
+            s &= free[base + k];
+            seed[k] = s;
+            any |= (s & ~reach[base + k]) != 0;
+        }
+        if (!any && !force) {
+            return false;
+        }
+
+        // para a direita: (livre + semente) ^ livre, restrito às livres, marca da semente até o
+        // fim do trecho; o vai-um passa de uma palavra para a seguinte
+        long carry = 0;
+        boolean changed = force;
+        for (int k = 0; k < words; k++) {
+            long f = free[base + k];
+            long sum = f + seed[k] + carry;
+            carry = (Long.compareUnsigned(sum, f) < 0 || (carry != 0 && sum == f)) ? 1 : 0;
+            long filled = ((sum ^ f) & f) | seed[k];
+            seed[k] = filled;
+        }
+        // para a esquerda: o mesmo com os bits invertidos, da última palavra para a primeira
+        carry = 0;
+        for (int k = words - 1; k >= 0; k--) {
+            long f = Long.reverse(free[base + k]);
+            long sd = Long.reverse(seed[k]);
+            long sum = f + sd + carry;
+            carry = (Long.compareUnsigned(sum, f) < 0 || (carry != 0 && sum == f)) ? 1 : 0;
+            long filled = Long.reverse(((sum ^ f) & f) | sd);
+            long added = filled & ~reach[base + k];
+            if (added != 0) {
+                expanded += Long.bitCount(added);
+                reach[base + k] |= filled;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void enqueue(int r) {
+        if (r >= 0 && r < height && !queued[r]) {
+            queued[r] = true;
+            dirty.add(r);
+        }
+    }
+
+    // quantidade de passos do caminho mais curto, ou -1 se o objetivo não for alcançável
+    public int distance(int startI, int startJ, int endI, int endJ) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        expanded = 0;
+        peak = 0;
+        int steps = search(startI, startJ, endI, endJ);
+        SolveMetrics.report("BFS (bits)", width * height, steps >= 0, steps, System.nanoTime() - startTime,
+                expanded, peak, 4L * expanded, metrics);
+        return steps;
+    }
+
+    private int search(int startI, int startJ, int endI, int endJ) {
+        if (!isFree(startI, startJ) || !isFree(endI, endJ)) {
+            return -1;
+        }
+        if (startI == endI && startJ == endJ) {
+            return 0;
+        }
+        prepare();
+
+        int goalWord = endI * words + (endJ >>> 6);
+        long goalBit = 1L << endJ;
+        int startWord = startJ >>> 6;
+        frontier[startI * words + startWord] = 1L << startJ;
+        visited[startI * words + startWord] = 1L << startJ;
+        frontierLo[startI] = startWord;
+        frontierHi[startI] = startWord;
+
+        // só as linhas entre lo e hi têm bits na fronteira, e em cada linha r só as palavras
+        // entre frontierLo[r] e frontierHi[r]; assim cada nível custa perto do tamanho da
+        // fronteira / 64, e não o labirinto inteiro
+        int lo = startI;
+        int hi = startI;
+        int size = 1;   // células na fronteira
+        for (int level = 1; lo <= hi; level++) {
+            expanded += size;
+            peak = Math.max(peak, size);
+            size = 0;
+            int from = Math.max(lo - 1, 0);
+            int to = Math.min(hi + 1, height - 1);
+            int newLo = Integer.MAX_VALUE;
+            int newHi = -1;
+
+            for (int r = from; r <= to; r++) {
+                // palavras da linha r que podem receber bits: vizinhas das palavras ativas
+                // nas linhas r - 1, r e r + 1
+                int wlo = Integer.MAX_VALUE;
+                int whi = -1;
+                for (int s = Math.max(r - 1, lo); s <= Math.min(r + 1, hi); s++) {
+                    if (frontierHi[s] >= 0) {
+                        wlo = Math.min(wlo, frontierLo[s]);
+                        whi = Math.max(whi, frontierHi[s]);
+                    }
+                }
+                nextLo[r] = -1;
+                nextHi[r] = -1;
+                if (whi < 0) {
+                    continue;
+                }
+                wlo = Math.max(wlo - 1, 0);
+                whi = Math.min(whi + 1, words - 1);
+
+                int base = r * words;
+                for (int k = wlo; k <= whi; k++) {
+                    long f = frontier[base + k];
+                    long n = (f << 1) | (f >>> 1);
+                    if (k > 0) {
+                        n |= frontier[base + k - 1] >>> 63;   // bit que vem da palavra da esquerda
+                    }
+                    if (k + 1 < words) {
+                        n |= frontier[base + k + 1] << 63;    // bit que vem da palavra da direita
+                    }
+                    if (r > 0) {
+                        n |= frontier[base - words + k];      // de cima
+                    }
+                    if (r + 1 < height) {
+                        n |= frontier[base + words + k];      // de baixo
+                    }
+                    n &= free[base + k] & ~visited[base + k];
+                    if (n != 0) {
+                        size += Long.bitCount(n);
+                        next[base + k] = n;
+                        visited[base + k] |= n;
+                        if (nextHi[r] < 0) {
+                            nextLo[r] = k;
+                        }
+                        nextHi[r] = k;
+                    }
+                }
+                if (nextHi[r] >= 0) {
+                    newLo = Math.min(newLo, r);
+                    newHi = r;
+                }
+            }
+
+            if ((next[goalWord] & goalBit) != 0) {
+                return level;
+            }
+
+            // a fronteira antiga vira o próximo buffer vazio
+            for (int r = lo; r <= hi; r++) {
+                if (frontierHi[r] >= 0) {
+                    Arrays.fill(frontier, r * words + frontierLo[r], r * words + frontierHi[r] + 1, 0L);
+                    frontierHi[r] = -1;
+                }
+            }
+            long[] swap = frontier;
+            frontier = next;
+            next = swap;
+            int[] swapLo = frontierLo;
+            frontierLo = nextLo;
+            nextLo = swapLo;
+            int[] swapHi = frontierHi;
+            frontierHi = nextHi;
+            nextHi = swapHi;
+            lo = newLo;
+            hi = newHi;
+        }
+        return -1;
+    }
+
+    // quantidade de células visitadas pela última busca
+    public long visitedCount() {
+        long count = 0;
+        for (long w : visited) {
+            count += Long.bitCount(w);
+        }
+        return count;
+    }
+
+    private void prepare() {
+        if (visited == null) {
+            visited = new long[free.length];
+            frontier = new long[free.length];
+            next = new long[free.length];
+            frontierLo = new int[height];
+            frontierHi = new int[height];
+            nextLo = new int[height];
+            nextHi = new int[height];
+        } else {
+            Arrays.fill(visited, 0L);
+            Arrays.fill(frontier, 0L);
+            Arrays.fill(next, 0L);
+        }
+        Arrays.fill(frontierHi, -1);
+        Arrays.fill(nextHi, -1);
+    }
+}
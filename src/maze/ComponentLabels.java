@@ -0,0 +1,174 @@
+package maze;
+
+// Componentes conexos das células livres, para responder "dá para chegar de a até b?" sem
+// rodar uma busca. Livre é MazeGrid.isClear, a mesma regra dos solvers (as marcas V e P de
+// uma busca anterior bloqueiam como parede). Duas células se alcançam se e só se
+// têm o mesmo rótulo. Os rótulos saem de uma union-find montada em uma varredura por
+// linhas (cada célula livre se une com a de cima e a da esquerda), com as raízes já
+// compactadas no fim, então cada consulta é um ou dois acessos ao array.
+//
+// Registrado como GridListener, acompanha as mudanças da grade: quando uma parede vira
+// célula livre, a célula só se une com as vizinhas (sem refazer nada). Quando uma célula
+// livre vira parede, um componente pode se partir, o que a union-find não desfaz; nesse
+// caso os rótulos são refeitos por inteiro na próxima consulta. Não é thread-safe.
+public class ComponentLabels implements GridListener {
+
+    private final static int WALL = -1;
+
+    private final MazeGrid grid;
+    private final int[] parent;   // union-find: pai de cada célula livre (WALL nas paredes)
+    private final int[] size;     // tamanho do componente, válido só nas raízes
+    private int components;
+    private boolean stale;        // alguma célula livre virou parede: precisa refazer
+
+    public ComponentLabels(MazeGrid grid) {
+        this.grid = grid;
+        this.parent = new int[grid.size()];
+        this.size = new int[grid.size()];
+        build();
+    }
+
+    // rotular e continuar acompanhando as mudanças da grade
+    public static ComponentLabels attach(MazeGrid grid) {
+        ComponentLabels labels = new ComponentLabels(grid);
+        grid.addListener(labels);
+        return labels;
+    }
+
+    // parar de acompanhar a grade (os rótulos ficam como estavam)
+    public void detach() {
+        grid.removeListener(this);
+    }
+
+    // retornar verdadeiro se as duas células são livres e estão no mesmo componente
+    public boolean isReachable(int a, int b) {
+        refresh();
+        return parent[a] != WALL && parent[b] != WALL && find(a) == find(b);
+    }
+
+    public boolean isReachable(int startI, int startJ, int endI, int endJ) {
+        return isReachable(grid.index(startI, startJ), grid.index(endI, endJ));
+    }
+
+    // rótulo da célula (a célula representante do componente), ou -1 se for parede
+    public int label(int index) {
+        refresh();
+        return parent[index] == WALL ? WALL : find(index);
+    }
+
+    public int label(int i, int j) {
+        return label(grid.index(i, j));
+    }
+
+    // quantidade de células do componente da célula (0 se for parede)
+    public int componentSize(int index) {
+        refresh();
+        return parent[index] == WALL ? 0 : size[find(index)];
+    }
+
+    public int componentCount() {
+        refresh();
+        return components;
+    }
+
+    @Override
+    public void cellChanged(MazeGrid source, int index, int oldValue, int newValue) {
+        boolean wasFree = MazeGrid.isClear((byte) oldValue);
+        boolean isFree = MazeGrid.isClear((byte) newValue);
+        if (wasFree == isFree || stale) {
+            return;
+        }
+        if (isFree) {
+            addCell(index);
+        } else {
+            stale = true;
+        }
+    }
+
+    @Override
+    public void gridReplaced(MazeGrid source) {
+        stale = true;
+    }
+
+    private void refresh() {
+        if (stale) {
+            build();
+        }
+    }
+
+    // varredura por linhas: une cada célula livre com as vizinhas de cima e da esquerda
+    private void build() {
+        byte[] cells = grid.cells();
+        int cols = grid.width();
+        components = 0;
+        for (int k = 0; k < cells.length; k++) {
+            if (!MazeGrid.isClear(cells[k])) {
+                parent[k] = WALL;
+                continue;
+            }
+            parent[k] = k;
+            size[k] = 1;
+            components++;
+            if (k % cols > 0 && parent[k - 1] != WALL) {
+                union(k - 1, k);
+            }
+            if (k >= cols && parent[k - cols] != WALL) {
+                union(k - cols, k);
+            }
+        }
+        // compactar: toda célula aponta direto para a raiz
+        for (int k = 0; k < cells.length; k++) {
+            if (parent[k] != WALL) {
+                parent[k] = find(k);
+            }
+        }
+        stale = false;
+    }
+
+    // uma parede virou célula livre: novo componente unido aos vizinhos livres
+    private void addCell(int index) {
+        int cols = grid.width();
+        int j = index % cols;
+        parent[index] = index;
+        size[index] = 1;
+        components++;
+        if (index >= cols && parent[index - cols] != WALL) {
+            union(index - cols, index);
+        }
+        if (j + 1 < cols && parent[index + 1] != WALL) {
+            union(index + 1, index);
+        }
+        if (j > 0 && parent[index - 1] != WALL) {
+            union(index - 1, index);
+        }
+        if (index + cols < parent.length && parent[index + cols] != WALL) {
+            union(index + cols, index);
+        }
+    }
+
+    // une por tamanho (a raiz menor passa a apontar para a maior)
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            return;
+        }
+        if (size[ra] < size[rb]) {
+            int t = ra;
+            ra = rb;
+            rb = t;
+        }
+        parent[rb] = ra;
+        size[ra] += size[rb];
+        components--;
+    }
+
+    // raiz do componente, encurtando o caminho pela metade (path halving)
+    private int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+}
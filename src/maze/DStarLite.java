@@ -0,0 +1,298 @@
+package maze;
+
+import java.util.Arrays;
+
+// Replanejamento incremental com D* Lite (Koenig e Likhachev), para quando o labirinto muda
+// com o agente no meio do caminho. A busca parte do objetivo em direção ao agente e guarda,
+// para cada célula, g (custo conhecido até o objetivo) e rhs (o que os vizinhos dizem que
+// o custo deveria ser). Quando uma célula vira parede ou deixa de ser parede, só ela e as
+// vizinhas são atualizadas; o próximo plan() reexpande apenas as células cujo custo de
+// fato mudou, em vez de refazer a busca inteira. O agente pode andar (moveTo) entre os
+// replanejamentos sem invalidar nada.
+//
+// Bloqueia o mesmo que os outros solvers (MazeGrid.isClear: paredes e marcas V/P de uma
+// busca) e cada passo custa 1. Registrado como GridListener (attach), recebe as mudanças
+// de mark()/set() sozinho. Não é thread-safe.
+public class DStarLite implements GridListener {
+
+    private final static int INF = 1 << 29;
+
+    private final MazeGrid grid;
+    private final int goal;
+    private int start;         // posição atual do agente
+    private int last;          // posição do agente na última atualização de km
+    private int km;            // soma das heurísticas entre as posições do agente (ver artigo)
+
+    private final int[] g;
+    private final int[] rhs;
+    private final IntMinHeap open;
+
+    private int lastExpansions;     // células expandidas no último plan()
+    private int peakOpen;           // maior tamanho da fila de prioridade nele (métricas)
+    private long totalExpansions;   // desde a criação (ou do último gridReplaced)
+    private int replans;
+    private int pendingChanges;     // células alteradas desde o último plan()
+
+    public DStarLite(MazeGrid grid, int start, int goal) {
+        if (start < 0 || start >= grid.size() || goal < 0 || goal >= grid.size()) {
+            throw new IllegalArgumentException("início ou objetivo fora do labirinto");
+        }
+        this.grid = grid;
+        this.start = start;
+        this.goal = goal;
+        this.g = new int[grid.size()];
+        this.rhs = new int[grid.size()];
+        this.open = new IntMinHeap(grid.size());
+        reset();
+    }
+
+    // planejar e continuar acompanhando as mudanças da grade
+    public static DStarLite attach(MazeGrid grid, int start, int goal) {
+        DStarLite planner = new DStarLite(grid, start, goal);
+        grid.addListener(planner);
+        return planner;
+    }
+
+    public static DStarLite attach(MazeGrid grid) {
+        return attach(grid, grid.start(), grid.goal());
+    }
+
+    public void detach() {
+        grid.removeListener(this);
+    }
+
+    public int start() { return start; }
+
+    public int goal() { return goal; }
+
+    // o agente andou para outra célula (normalmente o próximo passo do caminho)
+    public void moveTo(int cell) {
+        if (cell < 0 || cell >= grid.size()) {
+            throw new IllegalArgumentException("célula fora do labirinto: " + cell);
+        }
+        start = cell;
+    }
+
+    // caminho mais curto da posição atual até o objetivo, reaproveitando a busca anterior
+    public SolveResult plan() {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        lastExpansions = computeShortestPath();
+        totalExpansions += lastExpansions;
+        replans++;
+        pendingChanges = 0;
+
+        int[] path = rhs[start] >= INF ? null : tracePath();
+        SolveResult result = new SolveResult(path != null, lastExpansions, null, grid.width(), path,
+                System.nanoTime() - startTime);
+        // só as células que o replanejamento reexpandiu, não a busca inteira
+        return SolveMetrics.report("D* Lite", grid.size(), result, lastExpansions, peakOpen,
+                4L * lastExpansions, metrics);
+    }
+
+    // células expandidas pelo último plan(); comparar com o visitedCount de uma busca do zero
+    public int lastExpansions() { return lastExpansions; }
+
+    public long totalExpansions() { return totalExpansions; }
+
+    public int replans() { return replans; }
+
+    // células com mudança de parede desde o último plan()
+    public int pendingChanges() { return pendingChanges; }
+
+    @Override
+    public void cellChanged(MazeGrid source, int index, int oldValue, int newValue) {
+        if (MazeGrid.isClear((byte) oldValue) == MazeGrid.isClear((byte) newValue)) {
+            return;
+        }
+        pendingChanges++;
+        if (start != last) {
+            km += heuristic(last, start);
+            last = start;
+        }
+        // mudam os custos de todos os arcos que entram e saem da célula
+        int cols = grid.width();
+        int j = index % cols;
+        updateRhs(index);
+        if (index >= cols) {
+            updateRhs(index - cols);
+        }
+        if (j + 1 < cols) {
+            updateRhs(index + 1);
+        }
+        if (j > 0) {
+            updateRhs(index - 1);
+        }
+        if (index + cols < grid.size()) {
+            updateRhs(index + cols);
+        }
+    }
+
+    @Override
+    public void gridReplaced(MazeGrid source) {
+        reset();
+    }
+
+    // começa do zero: só o objetivo é consistente
+    private void reset() {
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        open.clear();
+        km = 0;
+        last = start;
+        totalExpansions = 0;
+        pendingChanges = 0;
+        rhs[goal] = isFree(goal) ? 0 : INF;
+        updateVertex(goal);
+    }
+
+    private int computeShortestPath() {
+        int cols = grid.width();
+        int expansions = 0;
+        peakOpen = open.size();
+        while (!open.isEmpty()
+                && (open.peekKey() < key(start) || rhs[start] > g[start])) {
+            peakOpen = Math.max(peakOpen, open.size());
+            int u = open.peek();
+            long oldKey = open.peekKey();
+            long newKey = key(u);
+            if (oldKey < newKey) {
+                open.update(u, newKey);
+                continue;
+            }
+            expansions++;
+            int j = u % cols;
+            if (g[u] > rhs[u]) {
+                // ficou mais barato: fixa g e avisa os vizinhos
+                g[u] = rhs[u];
+                open.remove(u);
+                int via = g[u] + 1;
+                if (u >= cols) {
+                    lower(u - cols, via);
+                }
+                if (j + 1 < cols) {
+                    lower(u + 1, via);
+                }
+                if (j > 0) {
+                    lower(u - 1, via);
+                }
+                if (u + cols < grid.size()) {
+                    lower(u + cols, via);
+                }
+            } else {
+                // ficou mais caro: volta para infinito e recalcula ele e os vizinhos
+                g[u] = INF;
+                updateRhs(u);
+                if (u >= cols) {
+                    updateRhs(u - cols);
+                }
+                if (j + 1 < cols) {
+                    updateRhs(u + 1);
+                }
+                if (j > 0) {
+                    updateRhs(u - 1);
+                }
+                if (u + cols < grid.size()) {
+                    updateRhs(u + cols);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    // o vizinho s passou a ter um caminho de custo "via" pela célula expandida
+    private void lower(int s, int via) {
+        if (s != goal && isFree(s) && via < rhs[s]) {
+            rhs[s] = via;
+            updateVertex(s);
+        }
+    }
+
+    // rhs = 1 + menor g entre os vizinhos livres (infinito se a célula for parede)
+    private void updateRhs(int s) {
+        if (s != goal) {
+            int best = INF;
+            if (isFree(s)) {
+                int cols = grid.width();
+                int j = s % cols;
+                if (s >= cols && isFree(s - cols)) {
+                    best = Math.min(best, g[s - cols]);
+                }
+                if (j + 1 < cols && isFree(s + 1)) {
+                    best = Math.min(best, g[s + 1]);
+                }
+                if (j > 0 && isFree(s - 1)) {
+                    best = Math.min(best, g[s - 1]);
+                }
+                if (s + cols < grid.size() && isFree(s + cols)) {
+                    best = Math.min(best, g[s + cols]);
+                }
+                best = best >= INF ? INF : best + 1;
+            }
+            rhs[s] = best;
+        } else {
+            rhs[s] = isFree(s) ? 0 : INF;
+        }
+        updateVertex(s);
+    }
+
+    // célula inconsistente (g != rhs) fica no heap com a chave atual; consistente sai
+    private void updateVertex(int s) {
+        if (g[s] != rhs[s]) {
+            open.update(s, key(s));
+        } else {
+            open.remove(s);
+        }
+    }
+
+    // chave [min(g, rhs) + h + km ; min(g, rhs)], comparada em ordem lexicográfica
+    private long key(int s) {
+        long k2 = Math.min(g[s], rhs[s]);
+        long k1 = k2 + heuristic(start, s) + km;
+        return (k1 << 32) | k2;
+    }
+
+    private int heuristic(int a, int b) {
+        int cols = grid.width();
+        return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+    }
+
+    // do agente até o objetivo, sempre pela vizinha livre de menor g
+    private int[] tracePath() {
+        int cols = grid.width();
+        int length = rhs[start];
+        IntQueue steps = new IntQueue(Math.max(16, length + 1));
+        int crt = start;
+        steps.add(crt);
+        while (crt != goal) {
+            int j = crt % cols;
+            int best = -1;
+            if (crt >= cols && isFree(crt - cols) && g[crt - cols] < INF) {
+                best = crt - cols;
+            }
+            if (j + 1 < cols && isFree(crt + 1) && (best < 0 || g[crt + 1] < g[best])) {
+                best = crt + 1;
+            }
+            if (j > 0 && isFree(crt - 1) && (best < 0 || g[crt - 1] < g[best])) {
+                best = crt - 1;
+            }
+            if (crt + cols < grid.size() && isFree(crt + cols) && (best < 0 || g[crt + cols] < g[best])) {
+                best = crt + cols;
+            }
+            if (best < 0 || g[best] >= INF || steps.size() > length) {
+                return null;   // não acontece depois de computeShortestPath
+            }
+            crt = best;
+            steps.add(crt);
+        }
+        int[] path = new int[steps.size()];
+        for (int k = 0; k < path.length; k++) {
+            path[k] = steps.poll();
+        }
+        return path;
+    }
+
+    private boolean isFree(int s) {
+        return grid.isClear(s);
+    }
+}
@@ -0,0 +1,70 @@
+package maze;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cache de DistanceField por objetivo, com no máximo "capacity" mapas (o usado há mais tempo
+// sai primeiro). Cada mapa vale para uma versão da grade: se a grade mudou desde o cálculo,
+// o mapa daquele objetivo é refeito na próxima consulta. Não é thread-safe.
+public class DistanceCache {
+
+    private final MazeGrid grid;
+    private final LinkedHashMap<Integer, DistanceField> fields;
+    private long hits;
+    private long misses;
+
+    public DistanceCache(MazeGrid grid, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacidade inválida: " + capacity);
+        }
+        this.grid = grid;
+        this.fields = new LinkedHashMap<Integer, DistanceField>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, DistanceField> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // mapa de distâncias até o objetivo, calculado agora se não estiver no cache ou se a
+    // grade mudou depois do cálculo
+    public DistanceField field(int goal) {
+        if (goal < 0 || goal >= grid.size()) {
+            throw new IllegalArgumentException("objetivo fora do labirinto: " + goal);
+        }
+        DistanceField field = fields.get(goal);
+        if (field != null && field.version() == grid.version()) {
+            hits++;
+            return field;
+        }
+        misses++;
+        field = DistanceField.compute(grid, goal);
+        fields.put(goal, field);
+        return field;
+    }
+
+    public int distance(int start, int goal) {
+        return field(goal).distance(start);
+    }
+
+    public int nextStep(int start, int goal) {
+        return field(goal).nextStep(start);
+    }
+
+    public SolveResult solve(int start, int goal) {
+        return field(goal).solve(start);
+    }
+
+    // do início ao objetivo da grade
+    public SolveResult solve() {
+        return solve(grid.start(), grid.goal());
+    }
+
+    public int size() { return fields.size(); }
+
+    public long hits() { return hits; }
+
+    public long misses() { return misses; }
+
+    public void clear() { fields.clear(); }
+}
@@ -0,0 +1,159 @@
+package maze;
+
+import java.util.Arrays;
+
+// Distância (em passos) de todas as células até um objetivo, calculada com uma única BFS
+// que parte do objetivo. Depois disso qualquer início tem a distância em O(1) e o caminho
+// sai andando sempre para a vizinha com distância uma unidade menor, sem nova busca.
+// Guarda short[] quando a maior distância cabe em 15 bits e int[] caso contrário.
+// Bloqueia o mesmo que a BFS (MazeGrid.isClear: paredes e marcas V/P); os custos das
+// células são ignorados.
+public class DistanceField {
+
+    public final static int UNREACHABLE = -1;
+
+    private final int width;
+    private final int goal;
+    private final long version;    // versão da grade usada no cálculo
+    private final short[] small;   // distâncias (ou null)
+    private final int[] large;     // distâncias quando não cabem em short (ou null)
+    private final int reached;     // células que alcançam o objetivo
+
+    private DistanceField(int width, int goal, long version, short[] small, int[] large, int reached) {
+        this.width = width;
+        this.goal = goal;
+        this.version = version;
+        this.small = small;
+        this.large = large;
+        this.reached = reached;
+    }
+
+    // BFS a partir do objetivo (o labirinto é não dirigido, então é a BFS reversa)
+    public static DistanceField compute(MazeGrid grid, int goal) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        int cols = grid.width();
+        int cells = grid.size();
+        byte[] maze = grid.cells();
+        int[] dist = new int[cells];
+        Arrays.fill(dist, UNREACHABLE);
+        IntQueue queue = new IntQueue(Math.min(cells, 1 << 16));
+
+        int max = 0;
+        int reached = 0;
+        if (MazeGrid.isClear(maze[goal])) {
+            dist[goal] = 0;
+            queue.add(goal);
+            reached = 1;
+        }
+        int peak = reached;
+        while (!queue.isEmpty()) {
+            peak = Math.max(peak, queue.size());
+            int crt = queue.poll();
+            int d = dist[crt] + 1;
+            int j = crt % cols;
+            int next;
+
+            //cima
+            next = crt - cols;
+            if (next >= 0 && dist[next] < 0 && MazeGrid.isClear(maze[next])) {
+                dist[next] = d;
+                queue.add(next);
+                reached++;
+            }
+            //direita
+            next = crt + 1;
+            if (j + 1 < cols && dist[next] < 0 && MazeGrid.isClear(maze[next])) {
+                dist[next] = d;
+                queue.add(next);
+                reached++;
+            }
+            //esquerda
+            next = crt - 1;
+            if (j > 0 && dist[next] < 0 && MazeGrid.isClear(maze[next])) {
+                dist[next] = d;
+                queue.add(next);
+                reached++;
+            }
+            //baixo
+            next = crt + cols;
+            if (next < cells && dist[next] < 0 && MazeGrid.isClear(maze[next])) {
+                dist[next] = d;
+                queue.add(next);
+                reached++;
+            }
+            max = d - 1;   // a fila sai em ordem de distância
+        }
+
+        DistanceField field;
+        if (max > Short.MAX_VALUE) {
+            field = new DistanceField(cols, goal, grid.version(), null, dist, reached);
+        } else {
+            short[] small = new short[cells];
+            for (int k = 0; k < cells; k++) {
+                small[k] = (short) dist[k];
+            }
+            field = new DistanceField(cols, goal, grid.version(), small, null, reached);
+        }
+        // sem objetivo de busca: "achou" se o objetivo é livre, e o caminho é a maior distância
+        SolveMetrics.report("Campo de distâncias", cells, reached > 0, reached > 0 ? max : -1,
+                System.nanoTime() - startTime, reached, peak, 4L * reached, metrics);
+        return field;
+    }
+
+    public int goal() { return goal; }
+
+    // versão da grade quando a distância foi calculada
+    public long version() { return version; }
+
+    // quantidade de células que alcançam o objetivo (inclusive ele)
+    public int reachedCount() { return reached; }
+
+    // retornar verdadeiro se está guardado em short[] (metade da memória)
+    public boolean isCompact() { return small != null; }
+
+    // passos até o objetivo, ou UNREACHABLE
+    public int distance(int index) {
+        return small != null ? small[index] : large[index];
+    }
+
+    // próxima célula do caminho mais curto até o objetivo; -1 no objetivo ou se não alcança
+    public int nextStep(int index) {
+        int d = distance(index);
+        if (d <= 0) {
+            return -1;
+        }
+        int j = index % width;
+        int cells = small != null ? small.length : large.length;
+        if (index >= width && distance(index - width) == d - 1) {
+            return index - width;
+        }
+        if (j + 1 < width && distance(index + 1) == d - 1) {
+            return index + 1;
+        }
+        if (j > 0 && distance(index - 1) == d - 1) {
+            return index - 1;
+        }
+        if (index + width < cells && distance(index + width) == d - 1) {
+            return index + width;
+        }
+        return -1;   // não acontece enquanto a grade for a mesma do cálculo
+    }
+
+    // caminho mais curto de start até o objetivo, seguindo nextStep
+    public SolveResult solve(int start) {
+        long startTime = System.nanoTime();
+        int d = distance(start);
+        if (d < 0) {
+            return new SolveResult(false, 0, null, width, null, System.nanoTime() - startTime);
+        }
+        int[] path = new int[d + 1];
+        int crt = start;
+        for (int k = 0; k < d; k++) {
+            path[k] = crt;
+            crt = nextStep(crt);
+        }
+        path[d] = crt;
+        return new SolveResult(true, path.length, null, width, path, System.nanoTime() - startTime);
+    }
+}
@@ -0,0 +1,87 @@
+package maze;
+
+import java.util.Arrays;
+
+// Grafo geral em formato CSR (compressed sparse row): os vizinhos do vértice v ficam em
+// targets[offsets[v] .. offsets[v + 1] - 1], com o peso de cada aresta na mesma posição de
+// weights (null quando o arquivo não tinha pesos). Três arrays de int e nenhum objeto por
+// vértice ou aresta, então cabe um grafo de centenas de milhões de arestas no heap.
+public class Graph {
+
+    private final int[] offsets;   // tamanho vertexCount + 1
+    private final int[] targets;   // destino de cada arco
+    private final int[] weights;   // peso de cada arco (ou null)
+    private final long edgeCount;  // arestas lidas do arquivo (sem contar a volta dos não dirigidos)
+    private final boolean directed;
+
+    public Graph(int[] offsets, int[] targets, int[] weights, long edgeCount, boolean directed) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeCount = edgeCount;
+        this.directed = directed;
+    }
+
+    public int vertexCount() { return offsets.length - 1; }
+
+    public long edgeCount() { return edgeCount; }
+
+    // quantidade de arcos guardados (o dobro das arestas em um grafo não dirigido)
+    public int arcCount() { return targets.length; }
+
+    // em um grafo não dirigido cada aresta está guardada nos dois sentidos
+    public boolean isDirected() { return directed; }
+
+    public boolean hasWeights() { return weights != null; }
+
+    public int degree(int v) { return offsets[v + 1] - offsets[v]; }
+
+    // primeiro arco do vértice v; os arcos de v vão até firstArc(v + 1) - 1
+    public int firstArc(int v) { return offsets[v]; }
+
+    public int target(int arc) { return targets[arc]; }
+
+    public int weight(int arc) { return weights == null ? 1 : weights[arc]; }
+
+    // grafo com todos os arcos invertidos (os arcos que chegam em cada vértice); um grafo
+    // não dirigido já é o próprio transposto
+    public Graph transpose() {
+        if (!directed) {
+            return this;
+        }
+        int n = vertexCount();
+        int[] inOffsets = new int[n + 1];
+        for (int arc = 0; arc < targets.length; arc++) {
+            inOffsets[targets[arc] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        int[] fill = Arrays.copyOf(inOffsets, n);
+        int[] inTargets = new int[targets.length];
+        int[] inWeights = weights == null ? null : new int[targets.length];
+        for (int u = 0; u < n; u++) {
+            for (int arc = offsets[u], end = offsets[u + 1]; arc < end; arc++) {
+                int slot = fill[targets[arc]]++;
+                inTargets[slot] = u;
+                if (inWeights != null) {
+                    inWeights[slot] = weights[arc];
+                }
+            }
+        }
+        return new Graph(inOffsets, inTargets, inWeights, edgeCount, true);
+    }
+
+    // arrays internos, usados diretamente pelas buscas do pacote
+    int[] offsets() { return offsets; }
+
+    int[] targets() { return targets; }
+
+    int[] weights() { return weights; }
+
+    @Override
+    public String toString() {
+        return "Graph[vertices=" + vertexCount() + ", edges=" + edgeCount + ", arcs=" + arcCount()
+                + (directed ? ", directed" : "") + "]";
+    }
+}
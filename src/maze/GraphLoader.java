@@ -0,0 +1,210 @@
+package maze;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// Lê um arquivo de lista de arestas, uma por linha: "u v" ou "u v peso" (vértices são
+// inteiros >= 0). Linhas com outra quantidade de números são ignoradas, assim como
+// comentários começando com # ou %. O arquivo é lido byte a byte com um tokenizador
+// próprio, sem BufferedReader.readLine() nem String.split() por linha, e em duas
+// passadas: a primeira conta o grau de cada vértice e a segunda preenche o CSR direto,
+// sem guardar a lista de arestas em memória.
+public class GraphLoader {
+
+    private GraphLoader() {
+    }
+
+    // grafo não dirigido (cada aresta vira dois arcos)
+    public static Graph load(String filePath) throws IOException {
+        return load(filePath, false);
+    }
+
+    public static Graph load(String filePath, boolean directed) throws IOException {
+        // 1ª passada: graus, maior vértice e se existe algum peso
+        int[] degree = new int[1024];
+        int vertexCount = 0;
+        long edgeCount = 0;
+        long arcCount = 0;
+        boolean weighted = false;
+
+        try (EdgeScanner scanner = new EdgeScanner(new FileInputStream(filePath))) {
+            while (scanner.next()) {
+                int top = Math.max(scanner.u, scanner.v);
+                if (top >= degree.length) {
+                    degree = Arrays.copyOf(degree, (int) Math.min(Math.max(2L * degree.length, top + 1L),
+                            Integer.MAX_VALUE - 8));
+                }
+                vertexCount = Math.max(vertexCount, top + 1);
+                degree[scanner.u]++;
+                arcCount++;
+                if (!directed) {
+                    degree[scanner.v]++;
+                    arcCount++;
+                }
+                weighted |= scanner.weighted;
+                edgeCount++;
+            }
+        }
+        if (arcCount > Integer.MAX_VALUE - 8) {
+            throw new IOException("arestas demais para o formato CSR: " + arcCount);
+        }
+
+        int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + degree[v];
+        }
+        // degree passa a ser a próxima posição livre de cada vértice
+        System.arraycopy(offsets, 0, degree, 0, vertexCount);
+
+        // 2ª passada: preencher os arcos
+        int[] targets = new int[(int) arcCount];
+        int[] weights = weighted ? new int[(int) arcCount] : null;
+        try (EdgeScanner scanner = new EdgeScanner(new FileInputStream(filePath))) {
+            while (scanner.next()) {
+                int arc = degree[scanner.u]++;
+                targets[arc] = scanner.v;
+                if (weights != null) {
+                    weights[arc] = scanner.w;
+                }
+                if (!directed) {
+                    arc = degree[scanner.v]++;
+                    targets[arc] = scanner.u;
+                    if (weights != null) {
+                        weights[arc] = scanner.w;
+                    }
+                }
+            }
+        }
+
+        return new Graph(offsets, targets, weights, edgeCount, directed);
+    }
+
+    // tokenizador de linhas de arestas direto sobre os bytes do arquivo: o buffer sempre
+    // contém a linha inteira, então o laço de leitura dos números só usa variáveis locais
+    private static final class EdgeScanner implements AutoCloseable {
+
+        private final InputStream in;
+        private byte[] buf = new byte[1 << 16];
+        private int pos;          // início da próxima linha
+        private int limit;        // fim dos bytes válidos no buffer
+        private int lineEnd;      // fim da linha atual (posição do '\n' ou limit)
+        private boolean eof;
+
+        private final long[] values = new long[3];
+        private long line;
+
+        int u, v, w;          // aresta atual
+        boolean weighted;     // a linha atual tinha peso?
+
+        EdgeScanner(InputStream in) {
+            this.in = in;
+        }
+
+        // avança até a próxima linha com 2 ou 3 números; falso no fim do arquivo
+        boolean next() throws IOException {
+            while (nextLine()) {
+                line++;
+                int count = parseLine(buf, pos, lineEnd);
+                pos = lineEnd + 1;
+                if (count == 2 || count == 3) {
+                    if (values[0] < 0 || values[1] < 0
+                            || values[0] >= Integer.MAX_VALUE - 8 || values[1] >= Integer.MAX_VALUE - 8) {
+                        throw new IOException("vértice inválido na linha " + line);
+                    }
+                    if (count == 3 && (values[2] < Integer.MIN_VALUE || values[2] > Integer.MAX_VALUE)) {
+                        throw new IOException("peso inválido na linha " + line);
+                    }
+                    u = (int) values[0];
+                    v = (int) values[1];
+                    weighted = count == 3;
+                    w = weighted ? (int) values[2] : 1;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // lê os números de buf[from .. to) para values; retorna quantos números havia,
+        // ou 0 se a linha tiver algo que não é número
+        private int parseLine(byte[] b, int from, int to) {
+            int count = 0;
+            int p = from;
+            while (p < to) {
+                int c = b[p];
+                if (c == ' ' || c == '\t' || c == '\r' || c == ',') {
+                    p++;
+                    continue;
+                }
+                if (c == '#' || c == '%') {
+                    return count;
+                }
+
+                boolean negative = c == '-';
+                if (negative) {
+                    p++;
+                }
+                long value = 0;
+                int start = p;
+                while (p < to && (c = b[p]) >= '0' && c <= '9') {
+                    value = value * 10 + (c - '0');
+                    p++;
+                }
+                int digits = p - start;
+                if (digits == 0 || digits > 18) {
+                    return 0;
+                }
+                if (p < to) {
+                    c = b[p];
+                    if (c != ' ' && c != '\t' && c != '\r' && c != ',') {
+                        return 0;
+                    }
+                }
+                if (count < values.length) {
+                    values[count] = negative ? -value : value;
+                }
+                count++;
+            }
+            return count;
+        }
+
+        // deixa uma linha inteira no buffer a partir de pos; falso no fim do arquivo
+        private boolean nextLine() throws IOException {
+            int scanned = pos;
+            while (true) {
+                for (int p = scanned; p < limit; p++) {
+                    if (buf[p] == '\n') {
+                        lineEnd = p;
+                        return true;
+                    }
+                }
+                if (eof) {
+                    lineEnd = limit;
+                    return pos < limit;
+                }
+                // linha incompleta: mover para o começo do buffer (ou aumentar) e ler mais
+                int pending = limit - pos;
+                if (pending == buf.length) {
+                    buf = Arrays.copyOf(buf, buf.length * 2);
+                } else if (pos > 0) {
+                    System.arraycopy(buf, pos, buf, 0, pending);
+                }
+                pos = 0;
+                limit = pending;
+                scanned = pending;
+                int n = in.read(buf, limit, buf.length - limit);
+                if (n < 0) {
+                    eof = true;
+                } else {
+                    limit += n;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package maze;
+
+import java.util.Arrays;
+
+// Buscas em grafos gerais (lidos pelo GraphLoader), não só em grades.
+// Reaproveita os buffers entre buscas e não é thread-safe.
+public class GraphSolver {
+
+    // quando trocar de direção na BFS por direção (valores do artigo de Beamer et al.):
+    // de cima para baixo -> de baixo para cima quando as arestas da fronteira passam de
+    // (arestas ainda não exploradas / alpha); volta quando a fronteira fica menor que n / beta
+    public final static int DEFAULT_ALPHA = 14;
+    public final static int DEFAULT_BETA = 24;
+
+    private final Graph graph;
+    private Graph incoming;        // arcos que chegam em cada vértice (transposto), só se precisar
+    private int alpha = DEFAULT_ALPHA;
+    private int beta = DEFAULT_BETA;
+
+    private byte[] visitedCells;   // 1 = vértice já descoberto
+    private int[] parent;          // de onde cada vértice descoberto foi alcançado
+    private IntQueue queue;
+
+    // buffers da BFS por direção
+    private int[] frontier;
+    private int[] next;
+    private long[] inFrontier;     // bitset da fronteira, usado no passo de baixo para cima
+    private long edgeChecks;       // arcos examinados pela última BFS por direção
+    private int bottomUpLevels;    // níveis feitos de baixo para cima na última BFS por direção
+
+    public GraphSolver(Graph graph) {
+        this.graph = graph;
+    }
+
+    public Graph graph() { return graph; }
+
+    // BFS de source até target (target = -1 percorre tudo o que é alcançável)
+    public SolveResult solveQueue(int source, int target) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (source < 0 || source >= graph.vertexCount()) {
+            throw new IllegalArgumentException("vértice inválido: " + source);
+        }
+        prepare();
+
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        byte[] seen = visitedCells;
+
+        queue.add(source);
+        seen[source] = 1;
+        parent[source] = source;
+        int visited = 1;
+        int expanded = 0;
+        int peak = 1;
+        long arcs = 0;
+        boolean found = false;
+
+        while (!queue.isEmpty()) {
+            peak = Math.max(peak, queue.size());
+            int crt = queue.poll();
+            expanded++;
+            if (crt == target) {
+                found = true;
+                break;
+            }
+            arcs += offsets[crt + 1] - offsets[crt];
+            for (int arc = offsets[crt], end = offsets[crt + 1]; arc < end; arc++) {
+                int next = targets[arc];
+                if (seen[next] == 0) {
+                    seen[next] = 1;
+                    parent[next] = crt;
+                    visited++;
+                    queue.add(next);
+                }
+            }
+        }
+
+        int[] path = found ? tracePath(parent, source, target) : null;
+        SolveResult result = new SolveResult(found, visited, seen, graph.vertexCount(), path, System.nanoTime() - startTime);
+        return SolveMetrics.report("BFS (grafo)", graph.vertexCount(), result, expanded, peak, arcs, metrics);
+    }
+
+    // BFS por direção (target = -1 percorre tudo o que é alcançável): troca de direção
+    // conforme o tamanho da fronteira. De cima para baixo cada vértice da fronteira olha os
+    // seus vizinhos; de baixo para cima cada vértice ainda não visitado procura um pai na
+    // fronteira e para no primeiro que achar. Em grafos de diâmetro pequeno (redes sociais,
+    // grafos aleatórios) os níveis do meio alcançam quase todo o grafo, e aí o passo de baixo
+    // para cima examina bem menos arcos. Devolve o mesmo resultado de
+    // solveQueue (distâncias mínimas), mas o caminho pode passar por outros pais.
+    public SolveResult solveDirectionOptimizing(int source, int target) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (source < 0 || source >= graph.vertexCount()) {
+            throw new IllegalArgumentException("vértice inválido: " + source);
+        }
+        prepare();
+        prepareLevels();
+
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets();
+        byte[] seen = visitedCells;
+
+        seen[source] = 1;
+        parent[source] = source;
+        frontier[0] = source;
+        int size = 1;
+        int visited = 1;
+        int expanded = 0;
+        int peak = 1;
+        long frontierArcs = graph.degree(source);            // arcos que saem da fronteira
+        long unexploredArcs = graph.arcCount() - frontierArcs; // arcos dos ainda não visitados
+        boolean bottomUp = false;
+        boolean found = source == target;
+        edgeChecks = 0;
+        bottomUpLevels = 0;
+
+        while (size > 0 && !found) {
+            if (!bottomUp && frontierArcs > unexploredArcs / alpha) {
+                bottomUp = true;
+            } else if (bottomUp && size < n / beta) {
+                bottomUp = false;
+            }
+
+            expanded += size;
+            peak = Math.max(peak, size);
+            int nextSize = bottomUp ? stepBottomUp(size) : stepTopDown(size);
+            if (bottomUp) {
+                bottomUpLevels++;
+            }
+
+            frontierArcs = 0;
+            for (int k = 0; k < nextSize; k++) {
+                int v = next[k];
+                frontierArcs += offsets[v + 1] - offsets[v];
+                if (v == target) {
+                    found = true;
+                }
+            }
+            unexploredArcs -= frontierArcs;
+            visited += nextSize;
+
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            size = nextSize;
+        }
+
+        int[] path = found ? tracePath(parent, source, target) : null;
+        SolveResult result = new SolveResult(found, visited, seen, n, path, System.nanoTime() - startTime);
+        return SolveMetrics.report("BFS por direção (grafo)", n, result, expanded, peak, edgeChecks, metrics);
+    }
+
+    // cada vértice da fronteira marca os vizinhos ainda não visitados
+    private int stepTopDown(int size) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        byte[] seen = visitedCells;
+        int nextSize = 0;
+        long checks = 0;
+
+        for (int k = 0; k < size; k++) {
+            int crt = frontier[k];
+            int end = offsets[crt + 1];
+            checks += end - offsets[crt];
+            for (int arc = offsets[crt]; arc < end; arc++) {
+                int v = targets[arc];
+                if (seen[v] == 0) {
+                    seen[v] = 1;
+                    parent[v] = crt;
+                    next[nextSize++] = v;
+                }
+            }
+        }
+        edgeChecks += checks;
+        return nextSize;
+    }
+
+    // cada vértice não visitado procura, entre os arcos que chegam nele, um pai na fronteira
+    private int stepBottomUp(int size) {
+        Graph in = incoming();
+        int[] offsets = in.offsets();
+        int[] sources = in.targets();
+        byte[] seen = visitedCells;
+        long[] bits = inFrontier;
+        int n = graph.vertexCount();
+        int nextSize = 0;
+        long checks = 0;
+
+        for (int k = 0; k < size; k++) {
+            int u = frontier[k];
+            bits[u >>> 6] |= 1L << u;
+        }
+        for (int v = 0; v < n; v++) {
+            if (seen[v] != 0) {
+                continue;
+            }
+            for (int arc = offsets[v], end = offsets[v + 1]; arc < end; arc++) {
+                int u = sources[arc];
+                checks++;
+                if ((bits[u >>> 6] & (1L << u)) != 0) {
+                    seen[v] = 1;
+                    parent[v] = u;
+                    next[nextSize++] = v;
+                    break;
+                }
+            }
+        }
+        for (int k = 0; k < size; k++) {
+            bits[frontier[k] >>> 6] = 0L;
+        }
+        edgeChecks += checks;
+        return nextSize;
+    }
+
+    // muda os limites de troca de direção (ver DEFAULT_ALPHA e DEFAULT_BETA)
+    public void setSwitchFactors(int alpha, int beta) {
+        if (alpha <= 0 || beta <= 0) {
+            throw new IllegalArgumentException("fatores devem ser positivos: " + alpha + ", " + beta);
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    // arcos examinados pela última chamada de solveDirectionOptimizing
+    public long lastEdgeChecks() { return edgeChecks; }
+
+    // níveis feitos de baixo para cima na última chamada de solveDirectionOptimizing
+    public int lastBottomUpLevels() { return bottomUpLevels; }
+
+    private Graph incoming() {
+        if (incoming == null) {
+            incoming = graph.transpose();
+        }
+        return incoming;
+    }
+
+    private void prepareLevels() {
+        int n = graph.vertexCount();
+        if (frontier == null || frontier.length != n) {
+            frontier = new int[n];
+            next = new int[n];
+            inFrontier = new long[(n + 63) >>> 6];
+        }
+    }
+
+    // caminho de source até target seguindo o array de pais
+    static int[] tracePath(int[] parent, int source, int target) {
+        int length = 1;
+        for (int v = target; v != source; v = parent[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int v = target;
+        for (int k = length - 1; k >= 0; k--) {
+            path[k] = v;
+            v = parent[v];
+        }
+        return path;
+    }
+
+    private void prepare() {
+        int n = graph.vertexCount();
+        if (visitedCells == null || visitedCells.length != n) {
+            visitedCells = new byte[n];
+            parent = new int[n];
+            queue = new IntQueue(n);
+        } else {
+            Arrays.fill(visitedCells, (byte) 0);
+            queue.clear();
+        }
+    }
+}
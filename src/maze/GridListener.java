@@ -0,0 +1,12 @@
+package maze;
+
+// Avisado quando uma célula do MazeGrid muda, para quem guarda informação derivada da grade
+// (componentes, distâncias, buscas incrementais) poder se atualizar em vez de recalcular tudo.
+public interface GridListener {
+
+    // a célula index mudou de oldValue para newValue (só é chamado se os valores forem diferentes)
+    void cellChanged(MazeGrid grid, int index, int oldValue, int newValue);
+
+    // muitas células mudaram de uma vez (copyFrom)
+    void gridReplaced(MazeGrid grid);
+}
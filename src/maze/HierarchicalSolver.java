@@ -0,0 +1,539 @@
+package maze;
+
+import java.util.Arrays;
+
+// Busca hierárquica (HPA*) para grades grandes demais para o A* a cada consulta. A grade é
+// dividida em clusters quadrados de lado fixo; em cada borda entre dois clusters, os trechos
+// em que as duas células vizinhas são livres viram entradas (uma no meio do trecho, ou duas
+// nas pontas se o trecho for longo). Dentro de cada cluster as distâncias entre as entradas
+// são calculadas com BFS limitada ao cluster. Uma consulta liga o início e o objetivo às
+// entradas dos seus clusters, roda A* no grafo abstrato (pequeno) e só depois detalha o
+// caminho célula por célula, com BFS apenas nos clusters por onde a rota passa.
+//
+// O caminho é quase sempre o mais curto, mas não há garantia (ele passa pelas entradas).
+// Bloqueia o mesmo que os outros solvers (MazeGrid.isClear: paredes e marcas V/P).
+// Registrado como GridListener (attach), uma mudança de célula invalida só o cluster dela (e o vizinho, se a célula estiver na borda); os clusters
+// inválidos são refeitos na próxima consulta. Não é thread-safe.
+public class HierarchicalSolver implements GridListener {
+
+    public final static int DEFAULT_CLUSTER_SIZE = 32;
+
+    private final static int INF = Integer.MAX_VALUE / 2;
+
+    private final MazeGrid grid;
+    private final int side;          // lado do cluster, em células
+    private final int clustersX;     // clusters por linha
+    private final int clustersY;     // clusters por coluna
+
+    private final int[][] nodes;     // células de entrada de cada cluster
+    private final int[][] dist;      // distâncias entre as entradas do cluster (n x n)
+    private final boolean[] dirty;
+    private final IntQueue dirtyQueue;
+    private int rebuilt;             // clusters refeitos desde a criação
+
+    // numeração global das entradas: id = firstId[cluster] + posição em nodes[cluster]
+    private final int[] firstId;
+    private int[] clusterOfId = new int[0];
+    private int nodeCount;
+
+    // BFS dentro de um cluster, sobre uma cópia dele com moldura (índices locais)
+    private final int pad;           // largura da cópia: lado + 2
+    private final boolean[] localFree;
+    private final int[] localDist;
+    private final byte[] localFrom;
+    private final IntQueue localQueue;
+    private int loaded = -1;         // cluster que está em localFree
+
+    // A* no grafo abstrato
+    private int[] g = new int[0];
+    private int[] parent = new int[0];
+    private int[] stamp = new int[0];
+    private int epoch;
+    private IntMinHeap open;
+    private int[] startCost;
+    private int[] goalCost;
+    private long relaxed;            // arcos do grafo abstrato examinados na consulta (métricas)
+
+    public HierarchicalSolver(MazeGrid grid) {
+        this(grid, DEFAULT_CLUSTER_SIZE);
+    }
+
+    public HierarchicalSolver(MazeGrid grid, int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("cluster pequeno demais: " + clusterSize);
+        }
+        this.grid = grid;
+        this.side = clusterSize;
+        this.clustersX = (grid.width() + clusterSize - 1) / clusterSize;
+        this.clustersY = (grid.height() + clusterSize - 1) / clusterSize;
+        int clusters = clustersX * clustersY;
+        this.nodes = new int[clusters][];
+        this.dist = new int[clusters][];
+        this.dirty = new boolean[clusters];
+        this.dirtyQueue = new IntQueue(Math.min(clusters, 1 << 16));
+        this.firstId = new int[clusters + 1];
+        this.pad = clusterSize + 2;
+        this.localFree = new boolean[pad * pad];
+        this.localDist = new int[pad * pad];
+        this.localFrom = new byte[pad * pad];
+        this.localQueue = new IntQueue(clusterSize * clusterSize);
+        for (int c = 0; c < clusters; c++) {
+            invalidate(c);
+        }
+        refresh();
+    }
+
+    // montar a hierarquia e continuar acompanhando as mudanças da grade
+    public static HierarchicalSolver attach(MazeGrid grid, int clusterSize) {
+        HierarchicalSolver solver = new HierarchicalSolver(grid, clusterSize);
+        grid.addListener(solver);
+        return solver;
+    }
+
+    public void detach() {
+        grid.removeListener(this);
+    }
+
+    public int clusterSize() { return side; }
+
+    public int clusterCount() { return clustersX * clustersY; }
+
+    // quantidade de entradas (nós do grafo abstrato)
+    public int nodeCount() {
+        refresh();
+        return nodeCount;
+    }
+
+    // clusters recalculados desde a criação (inclusive a montagem inicial)
+    public int rebuiltClusters() { return rebuilt; }
+
+    public SolveResult solve() {
+        return solve(grid.start(), grid.goal());
+    }
+
+    // visitedCount do resultado = nós do grafo abstrato expandidos pelo A*; as métricas contam
+    // esses nós e arcos, não células (o tempo inclui refazer os clusters alterados)
+    public SolveResult solve(int start, int goal) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        refresh();
+        if (!isFree(start) || !isFree(goal)) {
+            SolveResult result = new SolveResult(false, 0, null, grid.width(), null, System.nanoTime() - startTime);
+            return SolveMetrics.report("HPA*", grid.size(), result, 0, 0, 0, metrics);
+        }
+
+        int cs = clusterOf(start);
+        int cg = clusterOf(goal);
+        int S = nodeCount;
+        int G = nodeCount + 1;
+
+        // ligar início e objetivo às entradas dos seus clusters
+        localBfs(cs, start);
+        int direct = cs == cg ? localDist[local(cs, goal)] : -1;
+        direct = direct < 0 ? INF : direct;
+        startCost = costsTo(cs, startCost);
+        localBfs(cg, goal);
+        goalCost = costsTo(cg, goalCost);
+
+        prepareSearch();
+        int now = epoch;
+        setCost(S, 0, -1, now);
+        open.offer(S, key(0, heuristic(start, goal)));
+        int expanded = 0;
+        int peak = 1;
+        relaxed = 0;
+        boolean found = false;
+
+        while (!open.isEmpty()) {
+            peak = Math.max(peak, open.size());
+            int u = open.poll();
+            if (u == G) {
+                found = true;
+                break;
+            }
+            expanded++;
+            int gu = g[u];
+
+            if (u == S) {
+                int[] around = nodes[cs];
+                for (int a = 0; a < around.length; a++) {
+                    if (startCost[a] < INF) {
+                        relax(firstId[cs] + a, gu + startCost[a], u, around[a], goal, now);
+                    }
+                }
+                if (direct < INF) {
+                    relax(G, gu + direct, u, goal, goal, now);
+                }
+                continue;
+            }
+
+            int c = clusterOfId[u];
+            int a = u - firstId[c];
+            int[] inside = nodes[c];
+            int n = inside.length;
+            int cell = inside[a];
+
+            // dentro do cluster
+            for (int b = 0; b < n; b++) {
+                int d = dist[c][a * n + b];
+                if (b != a && d < INF) {
+                    relax(firstId[c] + b, gu + d, u, inside[b], goal, now);
+                }
+            }
+            if (c == cg && goalCost[a] < INF) {
+                relax(G, gu + goalCost[a], u, goal, goal, now);
+            }
+            // para a entrada do cluster vizinho, do outro lado da borda
+            int cols = grid.width();
+            int j = cell % cols;
+            if (cell >= cols) {
+                cross(cell - cols, gu, u, goal, now);
+            }
+            if (j + 1 < cols) {
+                cross(cell + 1, gu, u, goal, now);
+            }
+            if (j > 0) {
+                cross(cell - 1, gu, u, goal, now);
+            }
+            if (cell + cols < grid.size()) {
+                cross(cell + cols, gu, u, goal, now);
+            }
+        }
+
+        int[] path = found ? refine(start, goal, S, G) : null;
+        SolveResult result = new SolveResult(found, expanded, null, grid.width(), path, System.nanoTime() - startTime);
+        return SolveMetrics.report("HPA*", grid.size(), result, expanded, peak, relaxed, metrics);
+    }
+
+    private void cross(int neighbor, int gu, int u, int goal, int now) {
+        int c = clusterOf(neighbor);
+        if (c == clusterOfId[u]) {
+            return;
+        }
+        int b = indexOf(nodes[c], neighbor);
+        if (b >= 0) {
+            relax(firstId[c] + b, gu + 1, u, neighbor, goal, now);
+        }
+    }
+
+    private void relax(int v, int cost, int from, int cell, int goal, int now) {
+        relaxed++;
+        if (stamp[v] != now || cost < g[v]) {
+            setCost(v, cost, from, now);
+            int h = heuristic(cell, goal);
+            open.offer(v, key(cost, h));
+        }
+    }
+
+    private void setCost(int v, int cost, int from, int now) {
+        stamp[v] = now;
+        g[v] = cost;
+        parent[v] = from;
+    }
+
+    // mesma chave do AStarSolver: f primeiro e, no empate, quem está mais perto do objetivo
+    private static long key(int cost, int h) {
+        return ((long) (cost + h) << 32) | h;
+    }
+
+    private int heuristic(int a, int b) {
+        int cols = grid.width();
+        return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+    }
+
+    // caminho célula por célula: entre entradas do mesmo cluster, BFS dentro dele
+    private int[] refine(int start, int goal, int S, int G) {
+        // ids do grafo abstrato, do objetivo até o início
+        int hops = 0;
+        for (int v = G; v != -1; v = parent[v]) {
+            hops++;
+        }
+        int[] cellsOnRoute = new int[hops];
+        int k = hops - 1;
+        for (int v = G; v != -1; v = parent[v]) {
+            cellsOnRoute[k--] = v == S ? start : v == G ? goal : nodes[clusterOfId[v]][v - firstId[clusterOfId[v]]];
+        }
+
+        IntQueue path = new IntQueue(Math.max(16, g[G] + 1));
+        path.add(start);
+        for (int h = 1; h < hops; h++) {
+            int from = cellsOnRoute[h - 1];
+            int to = cellsOnRoute[h];
+            if (from == to) {
+                continue;
+            }
+            int c = clusterOf(from);
+            if (c != clusterOf(to)) {
+                path.add(to);   // atravessa a borda
+                continue;
+            }
+            localBfs(c, from);
+            appendLocalPath(c, from, to, path);
+        }
+        int[] result = new int[path.size()];
+        for (int p = 0; p < result.length; p++) {
+            result[p] = path.poll();
+        }
+        return result;
+    }
+
+    // acrescenta o caminho da última localBfs, sem a célula "from"
+    private void appendLocalPath(int c, int from, int to, IntQueue path) {
+        int cols = grid.width();
+        int r0 = (c / clustersX) * side - 1;   // -1 por causa da moldura
+        int c0 = (c % clustersX) * side - 1;
+        int l = local(c, to);
+        int length = localDist[l];
+        int[] steps = new int[length];
+        for (int s = length - 1; s >= 0; s--) {
+            steps[s] = (r0 + l / pad) * cols + c0 + l % pad;
+            l = MazeSolver.parent(localFrom[l], l, pad);
+        }
+        for (int s : steps) {
+            path.add(s);
+        }
+    }
+
+    // distância (da última localBfs) até cada entrada do cluster
+    private int[] costsTo(int c, int[] reuse) {
+        int[] around = nodes[c];
+        int[] costs = reuse != null && reuse.length >= around.length ? reuse : new int[Math.max(around.length, 8)];
+        for (int a = 0; a < around.length; a++) {
+            int d = localDist[local(c, around[a])];
+            costs[a] = d < 0 ? INF : d;
+        }
+        return costs;
+    }
+
+    // BFS a partir de uma célula sem sair do cluster c; localDist = -1 nas não alcançadas.
+    // Roda sobre uma cópia do cluster com uma moldura de paredes em volta, então não precisa
+    // testar os limites nem dividir para achar linha e coluna.
+    private void localBfs(int c, int from) {
+        load(c);
+        Arrays.fill(localDist, -1);
+        localQueue.clear();
+
+        int l = local(c, from);
+        localDist[l] = 0;
+        localFrom[l] = MazeSolver.FROM_START;
+        localQueue.add(l);
+        while (!localQueue.isEmpty()) {
+            int crt = localQueue.poll();
+            int d = localDist[crt] + 1;
+            visitLocal(crt - pad, d, MazeSolver.FROM_SOUTH);   //cima
+            visitLocal(crt + 1, d, MazeSolver.FROM_WEST);      //direita
+            visitLocal(crt - 1, d, MazeSolver.FROM_EAST);      //esquerda
+            visitLocal(crt + pad, d, MazeSolver.FROM_NORTH);   //baixo
+        }
+    }
+
+    private void visitLocal(int l, int d, byte from) {
+        if (localDist[l] < 0 && localFree[l]) {
+            localDist[l] = d;
+            localFrom[l] = from;
+            localQueue.add(l);
+        }
+    }
+
+    // copia as células livres do cluster c para localFree (se já não for o cluster carregado)
+    private void load(int c) {
+        if (loaded == c) {
+            return;
+        }
+        int cols = grid.width();
+        int r0 = (c / clustersX) * side;
+        int c0 = (c % clustersX) * side;
+        int r1 = Math.min(r0 + side, grid.height());
+        int c1 = Math.min(c0 + side, cols);
+        Arrays.fill(localFree, false);
+        for (int i = r0; i < r1; i++) {
+            int l = (i - r0 + 1) * pad + 1;
+            for (int k = i * cols + c0, end = i * cols + c1; k < end; k++, l++) {
+                localFree[l] = isFree(k);
+            }
+        }
+        loaded = c;
+    }
+
+    // posição da célula na cópia do cluster c (com moldura)
+    private int local(int c, int cell) {
+        int cols = grid.width();
+        int r0 = (c / clustersX) * side;
+        int c0 = (c % clustersX) * side;
+        return (cell / cols - r0 + 1) * pad + cell % cols - c0 + 1;
+    }
+
+    private int clusterOf(int cell) {
+        int cols = grid.width();
+        return (cell / cols / side) * clustersX + (cell % cols) / side;
+    }
+
+    @Override
+    public void cellChanged(MazeGrid source, int index, int oldValue, int newValue) {
+        if (MazeGrid.isClear((byte) oldValue) == MazeGrid.isClear((byte) newValue)) {
+            return;
+        }
+        loaded = -1;
+        int cols = grid.width();
+        int i = index / cols;
+        int j = index % cols;
+        int cy = i / side;
+        int cx = j / side;
+        invalidate(cy * clustersX + cx);
+        // na borda, as entradas do cluster vizinho também mudam
+        if (i % side == 0 && cy > 0) {
+            invalidate((cy - 1) * clustersX + cx);
+        }
+        if ((i % side == side - 1) && cy + 1 < clustersY) {
+            invalidate((cy + 1) * clustersX + cx);
+        }
+        if (j % side == 0 && cx > 0) {
+            invalidate(cy * clustersX + cx - 1);
+        }
+        if ((j % side == side - 1) && cx + 1 < clustersX) {
+            invalidate(cy * clustersX + cx + 1);
+        }
+    }
+
+    @Override
+    public void gridReplaced(MazeGrid source) {
+        loaded = -1;
+        for (int c = 0; c < dirty.length; c++) {
+            invalidate(c);
+        }
+    }
+
+    private void invalidate(int c) {
+        if (!dirty[c]) {
+            dirty[c] = true;
+            dirtyQueue.add(c);
+        }
+    }
+
+    // refaz os clusters inválidos e renumera as entradas
+    private void refresh() {
+        if (dirtyQueue.isEmpty()) {
+            return;
+        }
+        while (!dirtyQueue.isEmpty()) {
+            int c = dirtyQueue.poll();
+            dirty[c] = false;
+            build(c);
+            rebuilt++;
+        }
+        int clusters = nodes.length;
+        for (int c = 0; c < clusters; c++) {
+            firstId[c + 1] = firstId[c] + nodes[c].length;
+        }
+        nodeCount = firstId[clusters];
+        if (clusterOfId.length < nodeCount) {
+            clusterOfId = new int[nodeCount + nodeCount / 4];
+        }
+        for (int c = 0; c < clusters; c++) {
+            Arrays.fill(clusterOfId, firstId[c], firstId[c + 1], c);
+        }
+    }
+
+    // entradas nas quatro bordas do cluster e distâncias entre elas
+    private void build(int c) {
+        int cols = grid.width();
+        int r0 = (c / clustersX) * side;
+        int c0 = (c % clustersX) * side;
+        int r1 = Math.min(r0 + side, grid.height()) - 1;
+        int c1 = Math.min(c0 + side, cols) - 1;
+
+        IntQueue found = new IntQueue(16);
+        if (r0 > 0) {
+            entrances(r0 * cols + c0, -cols, 1, c1 - c0 + 1, found);
+        }
+        if (r1 < grid.height() - 1) {
+            entrances(r1 * cols + c0, cols, 1, c1 - c0 + 1, found);
+        }
+        if (c0 > 0) {
+            entrances(r0 * cols + c0, -1, cols, r1 - r0 + 1, found);
+        }
+        if (c1 < cols - 1) {
+            entrances(r0 * cols + c1, 1, cols, r1 - r0 + 1, found);
+        }
+
+        int[] list = new int[found.size()];
+        int n = 0;
+        while (!found.isEmpty()) {
+            int cell = found.poll();
+            if (indexOf(list, n, cell) < 0) {   // canto pode aparecer em duas bordas
+                list[n++] = cell;
+            }
+        }
+        nodes[c] = Arrays.copyOf(list, n);
+
+        int[] d = new int[n * n];
+        for (int a = 0; a < n; a++) {
+            localBfs(c, nodes[c][a]);
+            for (int b = 0; b < n; b++) {
+                int value = localDist[local(c, nodes[c][b])];
+                d[a * n + b] = value < 0 ? INF : value;
+            }
+        }
+        dist[c] = d;
+    }
+
+    // percorre uma borda: first = primeira célula de dentro, out = deslocamento até a célula
+    // de fora, step = deslocamento ao longo da borda. Os dois clusters da borda enxergam os
+    // mesmos trechos, então escolhem as mesmas entradas.
+    private void entrances(int first, int out, int step, int length, IntQueue found) {
+        int run = 0;
+        for (int k = 0; k <= length; k++) {
+            int cell = first + k * step;
+            boolean open = k < length && isFree(cell) && isFree(cell + out);
+            if (open) {
+                run++;
+                continue;
+            }
+            if (run > 0) {
+                int runStart = k - run;
+                if (run <= 5) {
+                    found.add(first + (runStart + (run - 1) / 2) * step);
+                } else {
+                    found.add(first + runStart * step);
+                    found.add(first + (k - 1) * step);
+                }
+                run = 0;
+            }
+        }
+    }
+
+    private void prepareSearch() {
+        int ids = nodeCount + 2;
+        if (g.length < ids) {
+            int capacity = ids + ids / 4;
+            g = new int[capacity];
+            parent = new int[capacity];
+            stamp = new int[capacity];
+            epoch = 0;
+            open = new IntMinHeap(capacity);
+        } else {
+            open.clear();
+        }
+        if (++epoch == 0) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+    }
+
+    private static int indexOf(int[] list, int cell) {
+        return indexOf(list, list.length, cell);
+    }
+
+    private static int indexOf(int[] list, int n, int cell) {
+        for (int k = 0; k < n; k++) {
+            if (list[k] == cell) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isFree(int cell) {
+        return grid.isClear(cell);
+    }
+}
@@ -0,0 +1,174 @@
+package maze;
+
+import java.util.Arrays;
+
+// Heap binário mínimo indexado de células (0 .. n-1) com prioridade long.
+// Cada célula aparece no máximo uma vez: offer() de uma célula que já está no heap
+// só diminui a prioridade dela (decrease-key), então não há entradas duplicadas nem
+// objetos alocados por inserção como em um PriorityQueue<Object>.
+public class IntMinHeap {
+
+    private int[] heap;       // células, na ordem do heap
+    private long[] keys;      // prioridade de cada posição do heap
+    private final int[] pos;  // posição de cada célula no heap (-1 = fora do heap)
+    private int size;
+
+    public IntMinHeap(int cells) {
+        pos = new int[cells];
+        Arrays.fill(pos, -1);
+        int capacity = Math.max(16, Math.min(cells, 1 << 16));
+        heap = new int[capacity];
+        keys = new long[capacity];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int size() { return size; }
+
+    // quantidade de células que o heap consegue indexar
+    public int cells() { return pos.length; }
+
+    public boolean contains(int cell) { return pos[cell] >= 0; }
+
+    // esvazia o heap; custa O(tamanho atual), não O(células)
+    public void clear() {
+        for (int k = 0; k < size; k++) {
+            pos[heap[k]] = -1;
+        }
+        size = 0;
+    }
+
+    // insere a célula, ou diminui a prioridade se ela já estiver no heap;
+    // retorna falso se a célula já estava com prioridade menor ou igual
+    public boolean offer(int cell, long key) {
+        int p = pos[cell];
+        if (p >= 0) {
+            if (key >= keys[p]) {
+                return false;
+            }
+            keys[p] = key;
+            siftUp(p);
+            return true;
+        }
+        if (size == heap.length) {
+            int capacity = (int) Math.min((long) heap.length * 2, Integer.MAX_VALUE - 8);
+            heap = Arrays.copyOf(heap, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        heap[size] = cell;
+        keys[size] = key;
+        pos[cell] = size;
+        siftUp(size++);
+        return true;
+    }
+
+    // muda a prioridade da célula para qualquer valor (maior ou menor), inserindo se preciso
+    public void update(int cell, long key) {
+        int p = pos[cell];
+        if (p < 0) {
+            offer(cell, key);
+            return;
+        }
+        long old = keys[p];
+        keys[p] = key;
+        if (key < old) {
+            siftUp(p);
+        } else {
+            siftDown(p);
+        }
+    }
+
+    // tira a célula do heap, se estiver nele
+    public void remove(int cell) {
+        int p = pos[cell];
+        if (p < 0) {
+            return;
+        }
+        pos[cell] = -1;
+        size--;
+        if (p < size) {
+            long old = keys[p];
+            heap[p] = heap[size];
+            keys[p] = keys[size];
+            pos[heap[p]] = p;
+            if (keys[p] < old) {
+                siftUp(p);
+            } else {
+                siftDown(p);
+            }
+        }
+    }
+
+    // célula no topo (sem remover)
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("heap vazio");
+        }
+        return heap[0];
+    }
+
+    // prioridade da célula no topo
+    public long peekKey() {
+        if (size == 0) {
+            throw new IllegalStateException("heap vazio");
+        }
+        return keys[0];
+    }
+
+    // remove e retorna a célula com menor prioridade
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("heap vazio");
+        }
+        int top = heap[0];
+        pos[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            keys[0] = keys[size];
+            pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int p) {
+        int cell = heap[p];
+        long key = keys[p];
+        while (p > 0) {
+            int parent = (p - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[p] = heap[parent];
+            keys[p] = keys[parent];
+            pos[heap[p]] = p;
+            p = parent;
+        }
+        heap[p] = cell;
+        keys[p] = key;
+        pos[cell] = p;
+    }
+
+    private void siftDown(int p) {
+        int cell = heap[p];
+        long key = keys[p];
+        int half = size >>> 1;
+        while (p < half) {
+            int child = 2 * p + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (keys[child] >= key) {
+                break;
+            }
+            heap[p] = heap[child];
+            keys[p] = keys[child];
+            pos[heap[p]] = p;
+            p = child;
+        }
+        heap[p] = cell;
+        keys[p] = key;
+        pos[cell] = p;
+    }
+}
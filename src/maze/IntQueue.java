@@ -0,0 +1,95 @@
+package maze;
+
+// Fila circular de inteiros (índices de células compactados em int).
+// Diferente da LinkedList<MazePos>, não aloca nenhum objeto por elemento inserido.
+// Também aceita inserir no começo (addFirst), para ser usada como deque na BFS 0-1.
+public class IntQueue {
+
+    // maior array que a JVM costuma aceitar (o mesmo limite do IntStack)
+    private final static int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private int[] data;
+    private int head;   // próxima posição a ser removida
+    private int tail;   // próxima posição livre
+    private int size;
+
+    public IntQueue(int capacity) {
+        data = new int[Math.max(capacity, 1)];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int size() { return size; }
+
+    public int capacity() { return data.length; }
+
+    // esvazia a fila sem liberar o array
+    public void clear() {
+        head = 0;
+        tail = 0;
+        size = 0;
+    }
+
+    // garante espaço para pelo menos capacity elementos (só aloca se precisar crescer)
+    public void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            grow(capacity);
+        }
+    }
+
+    public void add(int value) {
+        if (size == data.length) {
+            grow();
+        }
+        data[tail] = value;
+        tail = (tail + 1 == data.length) ? 0 : tail + 1;
+        size++;
+    }
+
+    // insere no começo da fila (sai antes de todos os outros)
+    public void addFirst(int value) {
+        if (size == data.length) {
+            grow();
+        }
+        head = (head == 0) ? data.length - 1 : head - 1;
+        data[head] = value;
+        size++;
+    }
+
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("fila vazia");
+        }
+        int value = data[head];
+        head = (head + 1 == data.length) ? 0 : head + 1;
+        size--;
+        return value;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("fila vazia");
+        }
+        return data[head];
+    }
+
+    // dobra, sem passar de MAX_CAPACITY (data.length * 2 estoura o int depois de 2^30)
+    private void grow() {
+        if (data.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("fila cheia: " + size + " elementos");
+        }
+        grow((int) Math.min((long) data.length * 2, MAX_CAPACITY));
+    }
+
+    private void grow(int capacity) {
+        int[] bigger = new int[capacity];
+        // copiar na ordem da fila, desfazendo a volta do buffer circular
+        for (int k = 0; k < size; k++) {
+            int idx = head + k;
+            bigger[k] = data[idx < data.length ? idx : idx - data.length];
+        }
+        data = bigger;
+        head = 0;
+        tail = size;
+    }
+}
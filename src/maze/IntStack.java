@@ -0,0 +1,47 @@
+package maze;
+
+import java.util.Arrays;
+
+// Pilha de inteiros (índices de células compactados em int) que cresce dobrando o array.
+// No lugar de java.util.Stack<MazePos>: sem sincronização (Stack é um Vector) e sem um
+// objeto por push, então uma DFS em um labirinto com milhões de células não estoura a pilha
+// de chamadas nem gera lixo para o GC.
+public class IntStack {
+
+    private int[] data;
+    private int size;
+
+    public IntStack(int capacity) {
+        data = new int[Math.max(capacity, 1)];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int size() { return size; }
+
+    // esvazia a pilha sem liberar o array
+    public void clear() {
+        size = 0;
+    }
+
+    public void push(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, (int) Math.min((long) data.length * 2, Integer.MAX_VALUE - 8));
+        }
+        data[size++] = value;
+    }
+
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("pilha vazia");
+        }
+        return data[--size];
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("pilha vazia");
+        }
+        return data[size - 1];
+    }
+}
@@ -0,0 +1,130 @@
+package maze;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Labirinto no formato do MazeFile aberto com FileChannel.map: as células ficam fora do
+// heap, no page cache do sistema, então abrir um arquivo de vários GB é instantâneo e
+// processos diferentes compartilham as mesmas páginas. Somente leitura.
+public class MappedMaze implements AutoCloseable {
+
+    // cada MappedByteBuffer cobre no máximo 1 GB do arquivo
+    private final static int CHUNK_BITS = 30;
+    private final static int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer[] chunks;
+    private final int width;
+    private final int height;
+    private final int bitsPerCell;
+    private final int start;
+    private final int goal;
+
+    private MappedMaze(RandomAccessFile file, MappedByteBuffer[] chunks, int width, int height,
+                       int bitsPerCell, int start, int goal) {
+        this.file = file;
+        this.chunks = chunks;
+        this.width = width;
+        this.height = height;
+        this.bitsPerCell = bitsPerCell;
+        this.start = start;
+        this.goal = goal;
+    }
+
+    public static MappedMaze open(String filePath) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(filePath, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            if (channel.size() < MazeFile.HEADER_SIZE) {
+                throw new IOException("arquivo pequeno demais para um labirinto: " + filePath);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, MazeFile.HEADER_SIZE);
+            if (header.getInt(0) != MazeFile.MAGIC || header.get(4) != MazeFile.VERSION) {
+                throw new IOException("não é um arquivo de labirinto (versão " + MazeFile.VERSION + "): " + filePath);
+            }
+            int bitsPerCell = header.get(5);
+            int width = header.getInt(8);
+            int height = header.getInt(12);
+            long start = header.getLong(16);
+            long goal = header.getLong(24);
+
+            long cells = (long) width * height;
+            if ((bitsPerCell != 1 && bitsPerCell != 8) || width <= 0 || height <= 0
+                    || cells > Integer.MAX_VALUE - 8) {
+                throw new IOException("cabeçalho inválido: " + width + " x " + height + ", "
+                        + bitsPerCell + " bits por célula");
+            }
+            if (start < 0 || start >= cells || goal < 0 || goal >= cells) {
+                throw new IOException("início ou objetivo fora do labirinto");
+            }
+            long dataSize = MazeFile.fileSize(cells, bitsPerCell) - MazeFile.HEADER_SIZE;
+            if (channel.size() < MazeFile.HEADER_SIZE + dataSize) {
+                throw new IOException("arquivo truncado: " + channel.size() + " bytes");
+            }
+
+            int count = (int) ((dataSize + CHUNK_MASK) >>> CHUNK_BITS);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[Math.max(count, 1)];
+            for (int k = 0; k < count; k++) {
+                long offset = (long) k << CHUNK_BITS;
+                long size = Math.min(1L << CHUNK_BITS, dataSize - offset);
+                chunks[k] = channel.map(FileChannel.MapMode.READ_ONLY, MazeFile.HEADER_SIZE + offset, size);
+            }
+            return new MappedMaze(file, chunks, width, height, bitsPerCell, (int) start, (int) goal);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    public int width() { return width; }
+
+    public int height() { return height; }
+
+    public int size() { return width * height; }
+
+    public int bitsPerCell() { return bitsPerCell; }
+
+    public int start() { return start; }
+
+    public int goal() { return goal; }
+
+    // valor da célula (no modo de 1 bit só existe X ou C)
+    public int get(int index) {
+        if (bitsPerCell == 1) {
+            return isWall(index) ? MazeGrid.X : MazeGrid.C;
+        }
+        return byteAt(index);
+    }
+
+    // retornar verdadeiro se a célula for parede
+    public boolean isWall(int index) {
+        if (bitsPerCell == 1) {
+            return (byteAt(index >>> 3) & (1 << (index & 7))) != 0;
+        }
+        return byteAt(index) == MazeGrid.X;
+    }
+
+    private int byteAt(long offset) {
+        return chunks[(int) (offset >>> CHUNK_BITS)].get((int) (offset & CHUNK_MASK));
+    }
+
+    // copiar para uma grade na memória (só para labirintos que cabem no heap); início ou
+    // objetivo gravados em cima de uma parede são recusados pelo setStart/setGoal
+    public MazeGrid toGrid() {
+        MazeGrid grid = new MazeGrid(width, height);
+        for (int k = 0; k < grid.size(); k++) {
+            grid.set(k, get(k));
+        }
+        grid.setStart(grid.row(start), grid.col(start));
+        grid.setGoal(grid.row(goal), grid.col(goal));
+        return grid;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,160 @@
+package maze;
+
+import java.nio.ByteBuffer;
+
+// BFS direto sobre um MappedMaze, sem carregar as células no heap. Os visitados ficam em um
+// bitset fora do heap (ByteBuffer.allocateDirect, 1 bit por célula) e a direção de chegada
+// em outro (2 bits por célula), para reconstruir o caminho; a fila começa pequena e só
+// cresce com a fronteira. Reaproveita os buffers entre buscas e não é thread-safe.
+public class MappedMazeSolver {
+
+    // direção de chegada em 2 bits (mesmo sentido dos códigos FROM_* do MazeSolver)
+    private final static int UP = 0;      // veio da célula de baixo
+    private final static int RIGHT = 1;   // veio da célula da esquerda
+    private final static int LEFT = 2;    // veio da célula da direita
+    private final static int DOWN = 3;    // veio da célula de cima
+
+    private final MappedMaze maze;
+    private ByteBuffer visited;     // 1 bit por célula
+    private ByteBuffer directions;  // 2 bits por célula
+    private IntQueue queue;
+
+    public MappedMazeSolver(MappedMaze maze) {
+        this.maze = maze;
+    }
+
+    public SolveResult solveQueue() {
+        return solveQueue(maze.start(), maze.goal());
+    }
+
+    public SolveResult solveQueue(int start, int goal) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        prepare();
+
+        int cols = maze.width();
+        int cells = maze.size();
+
+        mark(start, UP);
+        queue.add(start);
+        int count = 1;
+        int expanded = 0;
+        int peak = 1;
+        boolean found = false;
+
+        while (!queue.isEmpty()) {
+            peak = Math.max(peak, queue.size());
+            int crt = queue.poll();
+            expanded++;
+            if (crt == goal) {
+                found = true;
+                break;
+            }
+
+            int j = crt % cols;
+            int next;
+
+            //cima
+            next = crt - cols;
+            if (next >= 0 && !isVisited(next) && !maze.isWall(next)) {
+                mark(next, UP);
+                count++;
+                queue.add(next);
+            }
+            //direita
+            next = crt + 1;
+            if (j + 1 < cols && !isVisited(next) && !maze.isWall(next)) {
+                mark(next, RIGHT);
+                count++;
+                queue.add(next);
+            }
+            //esquerda
+            next = crt - 1;
+            if (j > 0 && !isVisited(next) && !maze.isWall(next)) {
+                mark(next, LEFT);
+                count++;
+                queue.add(next);
+            }
+            //baixo
+            next = crt + cols;
+            if (next < cells && !isVisited(next) && !maze.isWall(next)) {
+                mark(next, DOWN);
+                count++;
+                queue.add(next);
+            }
+        }
+
+        int[] path = found ? tracePath(start, goal) : null;
+        SolveResult result = new SolveResult(found, count, null, cols, path, System.nanoTime() - startTime);
+        return SolveMetrics.report("BFS (mapeada)", cells, result, expanded, peak, 4L * expanded, metrics);
+    }
+
+    // retornar verdadeiro se a célula foi visitada na última busca
+    public boolean isVisited(int index) {
+        return (visited.get(index >>> 3) & (1 << (index & 7))) != 0;
+    }
+
+    private void mark(int index, int direction) {
+        int b = index >>> 3;
+        visited.put(b, (byte) (visited.get(b) | (1 << (index & 7))));
+        int d = index >>> 2;
+        int shift = (index & 3) << 1;
+        directions.put(d, (byte) ((directions.get(d) & ~(3 << shift)) | (direction << shift)));
+    }
+
+    private int[] tracePath(int start, int goal) {
+        int cols = maze.width();
+        int length = 1;
+        for (int crt = goal; crt != start; crt = parent(crt, cols)) {
+            length++;
+        }
+        int[] path = new int[length];
+        int crt = goal;
+        for (int k = length - 1; k >= 0; k--) {
+            path[k] = crt;
+            if (k > 0) {
+                crt = parent(crt, cols);
+            }
+        }
+        return path;
+    }
+
+    private int parent(int crt, int cols) {
+        int direction = (directions.get(crt >>> 2) >>> ((crt & 3) << 1)) & 3;
+        switch (direction) {
+            case UP:
+                return crt + cols;
+            case RIGHT:
+                return crt - 1;
+            case LEFT:
+                return crt + 1;
+            default:
+                return crt - cols;
+        }
+    }
+
+    // aloca (na primeira vez) ou zera os bitsets fora do heap
+    private void prepare() {
+        int cells = maze.size();
+        int visitedBytes = (cells + 7) >>> 3;
+        if (visited == null || visited.capacity() != visitedBytes) {
+            visited = ByteBuffer.allocateDirect(visitedBytes);
+            directions = ByteBuffer.allocateDirect((cells + 3) >>> 2);
+            queue = new IntQueue(4 * (maze.width() + maze.height()));
+        } else {
+            clear(visited);
+            queue.clear();
+        }
+    }
+
+    private static void clear(ByteBuffer buffer) {
+        int n = buffer.capacity();
+        int k = 0;
+        for (; k + 8 <= n; k += 8) {
+            buffer.putLong(k, 0L);
+        }
+        for (; k < n; k++) {
+            buffer.put(k, (byte) 0);
+        }
+    }
+}
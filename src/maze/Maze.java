@@ -1,94 +1,73 @@
 package maze;
 
-import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.net.URL;
-import java.util.LinkedList;
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
-import java.io.BufferedReader;
-import java.io.FileReader;
+import javax.swing.SwingWorker;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 public class Maze extends JFrame {
-    private Map<String, String> graph = new HashMap<>();
-    private int[][] cellValues; // Matriz para armazenar os valores associados às células
-
-    public void readGraphFromFile(String filePath) {
-        int vertexCount = 0;
-        int edgeCount = 0;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(" ");
-                if (parts.length == 2) {
-                    // Se a linha contém dois vértices, conte como uma aresta
-                    edgeCount++;
-                } else if (parts.length == 3) {
-                    // Se a linha contém três partes, conte como uma aresta e um valor
-                    edgeCount++;
-                }
-                vertexCount += parts.length; // Cada parte é um vértice
-            }
+    // grafo lido por readGraphFromFile, em formato CSR
+    private Graph graph;
+
+    // ler lista de arestas ("u v" ou "u v peso" por linha) como grafo não dirigido
+    public Graph readGraphFromFile(String filePath) {
+        try {
+            graph = GraphLoader.load(filePath);
         } catch (IOException e) {
             e.printStackTrace();
+            return null;
         }
 
-        System.out.println("Número de vértices: " + vertexCount);
-        System.out.println("Número de arestas: " + edgeCount);
-    }
-
-    // Método para garantir que a matriz de valores tenha espaço suficiente
-    private void ensureCellValueMatrixSize(int size) {
-        if (cellValues == null || cellValues.length < size) {
-            int[][] newMatrix = new int[size][size];
-            if (cellValues != null) {
-                for (int i = 0; i < cellValues.length; i++) {
-                    System.arraycopy(cellValues[i], 0, newMatrix[i], 0, cellValues[i].length);
-                }
-            }
-            cellValues = newMatrix;
-        }
+        System.out.println("Número de vértices: " + graph.vertexCount());
+        System.out.println("Número de arestas: " + graph.edgeCount());
+        return graph;
     }
 
-    //pôe números para toda cor que será usada, cores são definidas depois (linha:349 in paint)
+    //pôe números para toda cor que será usada, cores são definidas no MazeView.color
     //parades são os blocos pretos
-    final static int X = 1;
+    final static int X = MazeGrid.X;
 
     //caminhos são os blocos brancos
-    final static int C = 0;
+    final static int C = MazeGrid.C;
 
     //estado inicial
-    final static int S = 2;
+    final static int S = MazeGrid.S;
 
     //objetivo
-    final static int E = 8;
+    final static int E = MazeGrid.E;
 
     //caminho
-    final static int V = 9;
+    final static int V = MazeGrid.V;
 
-    //estado inicial (i,j)
-    final static int START_I = 1, START_J = 1;
+    //caminho mais curto
+    final static int P = MazeGrid.P;
 
-    //objetivo (i,j)
-    final static int END_I = 2, END_J = 9;
+    // labirinto guardado em um array linear (MazeGrid), com início e objetivo configuráveis
+    MazeGrid maze;
 
-    int[][] maze = new int[][]{ // array inicial do labirinto
+    // componentes conexos do labirinto, atualizados a cada mudança nas células
+    private ComponentLabels components;
+
+    // array inicial do labirinto; o início é (1,1) e o objetivo é (2,9)
+    static final int[][] DEFAULT_MAZE = new int[][]{
             //Aqui é possível mudar os valores da matriz afim de modificar o labirinto
             // (1) Paredes
             // (2) Início
             // (0) Caminho
             // (8) Saída
             // (9) É apenas para representação gráfica do caminho que foi explorado (cor verde)
+            // (7) É apenas para representação gráfica do caminho mais curto (cor ciano)
             {1, 1, 1, 1, 1, 1, 1, 1, 1, 1},
             {1, 2, 0, 0, 0, 0, 0, 0, 0, 1},
             {1, 0, 0, 0, 1, 0, 1, 1, 0, 8},
@@ -102,16 +81,27 @@ public class Maze extends JFrame {
     };
 
     // para cada array aleatório do qual nós guardamos aleatoriamente um array gerado dentro.
-    int[][] arr;
+    MazeGrid arr;
 
     // Botões da interface (ainda não inicializados)
     JButton solveStack;
     JButton solveBFS;
     JButton clear;
     JButton exit;
+    JButton cancel;
     JButton genRandom;
 
-    boolean repaint = false;
+    // algoritmo usado pelo botão Resolver
+    JComboBox<Algorithm> algorithm;
+
+    // desenho do labirinto (imagem em cache, zoom e arrastar)
+    MazeView view;
+
+    // intervalo entre dois quadros da animação da busca (ms)
+    final static int FRAME_MILLIS = 40;
+
+    // busca em andamento (null = nenhuma)
+    private SolveTask running;
 
     //início
     long startTime;
@@ -119,10 +109,19 @@ public class Maze extends JFrame {
     //tempo de parada
     long stopTime;
 
-    int[][] savedMaze = clone();
+    MazeGrid savedMaze;
 
     // o construtor do labirinto, isso será a primeira coisa que será executada quando criar um objeto dessa classe.
     public Maze() {
+        this(MazeGrid.fromArray(DEFAULT_MAZE, 1, 1, 2, 9));
+    }
+
+    // abrir a janela para um labirinto de qualquer tamanho (largura x altura)
+    public Maze(MazeGrid grid) {
+        maze = grid;
+        savedMaze = clone();
+        components = ComponentLabels.attach(maze);
+
         setTitle("Labirinto");
         setSize(800, 530);
 
@@ -135,13 +134,20 @@ public class Maze extends JFrame {
         setLayout(null);
 
         // Inicializar objetos para botões
-        solveBFS = new JButton("Resolver BFS");
+        solveBFS = new JButton("Resolver");
+        algorithm = new JComboBox<Algorithm>(Algorithm.values());
         exit = new JButton("Sair");
+        cancel = new JButton("Cancelar");
         genRandom = new JButton("Gerar Labirinto");
 
+        view = new MazeView(maze);
+
         // Adicionar os botões ao JFrame
+        add(view);
         add(solveBFS);
+        add(algorithm);
         add(exit);
+        add(cancel);
         add(genRandom);
 
         // Tornar o JFrame visível (ele é invisível por padrão, não sabemos por quê!)
@@ -149,18 +155,30 @@ public class Maze extends JFrame {
 
         // Definir as posições dos componentes no JFrame (x, y, largura, altura).
         // Aqui escolhemos a posição manualmente, por isso configuramos o Layout como nulo.
-        solveBFS.setBounds(500, 50, 150, 40);
-        genRandom.setBounds(500, 120, 170, 40);
-        exit.setBounds(500, 180, 100, 40);
+        view.setBounds(40, 20, 440, 440);
+        algorithm.setBounds(500, 50, 170, 30);
+        solveBFS.setBounds(500, 90, 150, 40);
+        genRandom.setBounds(500, 150, 170, 40);
+        exit.setBounds(500, 210, 100, 40);
+        cancel.setBounds(660, 90, 110, 40);
+        cancel.setEnabled(false);
 
         // O que acontece quando você clica no botão Gerar Labirinto Aleatório
         genRandom.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                int x[][] = GenerateArray();
-                repaint = true;
+                MazeGrid x = GenerateArray();
                 restore(x);
-                repaint();
+            }
+        });
+
+        // O que acontece quando você clica no botão Cancelar (durante uma busca)
+        cancel.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (running != null) {
+                    running.cancelSearch();
+                }
             }
         });
 
@@ -172,35 +190,27 @@ public class Maze extends JFrame {
             }
         });
 
-        // O que acontece quando você clica no botão Resolver BFS
+        // O que acontece quando você clica no botão Resolver (com o algoritmo escolhido)
         solveBFS.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (arr == null) {
-                    restore(savedMaze);
-                    repaint = false;
-                    solveQueue();
-                    repaint();
-                } else {
-                    restore(arr);
-                    repaint = false;
-                    solveQueue();
-                    repaint();
-                }
+                // o view redesenha sozinho as células que a busca marcar
+                restore(arr == null ? savedMaze : arr);
+                solve((Algorithm) algorithm.getSelectedItem());
             }
         });
     }
 
-    // Tamanho do labirinto
+    // Tamanho do labirinto (quantidade de células)
     public int Size() {
-        return maze.length;
+        return maze.size();
     }
 
     // Printar labirinto
     public void Print() {
-        for (int i = 0; i < Size(); i++) {
-            for (int J = 0; J < Size(); J++) {
-                System.out.print(maze[i][J]);
+        for (int i = 0; i < maze.height(); i++) {
+            for (int J = 0; J < maze.width(); J++) {
+                System.out.print(maze.get(i, J));
                 System.out.print(' ');
             }
             System.out.println();
@@ -210,11 +220,7 @@ public class Maze extends JFrame {
     // retornar verdadeiro se a celula estiver no labirinto
     public boolean isInMaze(int i, int j) {  // parametros são a posição (i and j) da celula
 
-        if (i >= 0 && i < Size() && j >= 0 && j < Size()) {
-            return true;
-        } else {
-            return false;
-        }
+        return maze.isInMaze(i, j);
     }
 
     public boolean isInMaze(MazePos pos) {
@@ -224,9 +230,7 @@ public class Maze extends JFrame {
     // para marcar o nó no array com certo valor; ex: se explorou marque com valro 9 (verde)
     public int mark(int i, int j, int value) {
         assert (isInMaze(i, j));
-        int temp = maze[i][j];
-        maze[i][j] = value;
-        return temp;
+        return maze.set(i, j, value);
     }
 
     public int mark(MazePos pos, int value) {
@@ -236,7 +240,7 @@ public class Maze extends JFrame {
     // retornar valor se o nó for igual a v = 9(Verde, Explorado)
     public boolean isMarked(int i, int j) {
         assert (isInMaze(i, j));
-        return (maze[i][j] == V);
+        return (maze.get(i, j) == V);
 
     }
 
@@ -247,7 +251,7 @@ public class Maze extends JFrame {
     // retornar verdadeiro se o nó é igual 0 (Branco, Inexplorado)
     public boolean isClear(int i, int j) {
         assert (isInMaze(i, j));
-        return (maze[i][j] != X && maze[i][j] != V);
+        return maze.isClear(i, j);
 
     }
 
@@ -258,7 +262,7 @@ public class Maze extends JFrame {
     // para ter certeza se chegou na saida (Teste)
     public boolean isFinal(int i, int j) {
 
-        return (i == Maze.END_I && j == Maze.END_J);
+        return (i == maze.goalRow() && j == maze.goalCol());
     }
 
     public boolean isFinal(MazePos pos) {
@@ -266,112 +270,26 @@ public class Maze extends JFrame {
     }
 
     // fazer copia do labirinto original
-    public int[][] clone() {
-        int[][] mazeCopy = new int[Size()][Size()];
-        for (int i = 0; i < Size(); i++) {
-            for (int j = 0; j < Size(); j++) {
-                mazeCopy[i][j] = maze[i][j];
-            }
-        }
-        return mazeCopy;
+    public MazeGrid clone() {
+        return maze.copy();
     }
 
     // para restaurar o labirinto ao estado inicial
-    public void restore(int[][] savedMazed) {
-        for (int i = 0; i < Size(); i++) {
-            for (int j = 0; j < Size(); j++) {
-                maze[i][j] = savedMazed[i][j];
-            }
-        }
+    public void restore(MazeGrid savedMazed) {
+        maze.copyFrom(savedMazed);
 
-        maze[1][1] = 2;  // ponto inicial
-        maze[2][9] = 8;  // objetivo
+        maze.set(maze.start(), S);  // ponto inicial
+        maze.set(maze.goal(), E);   // objetivo
     }
 
-    //gerar labirinto aleatório com valores de 0 e 1 (blocos preto e branco)
-    public int[][] GenerateArray() {
-        arr = new int[10][10];
-        Random rnd = new Random();
-        int min = 0;
-        int high = 1;
-
-        for (int i = 0; i < 10; i++) {
-            for (int j = 0; j < 10; j++) {
-                int n = rnd.nextInt((high - min) + 1) + min;
-                arr[i][j] = n;
-
-            }
-        }
-        arr[0][1] = 0;arr[1][0] = 0;arr[2][1] = 0;arr[1][2] = 0;
-        arr[1][9] = 0;arr[2][8] = 0;arr[3][9] = 0;
+    //gerar labirinto aleatório do mesmo tamanho do atual; é um labirinto perfeito, então
+    //sempre tem saída (o início e o objetivo passam a ser a primeira e a última sala)
+    public MazeGrid GenerateArray() {
+        long seed = new SplittableRandom().nextLong();
+        arr = MazeGenerator.recursiveBacktracker(maze.width(), maze.height(), seed);
         return arr;
     }
 
-    // mostrar o labirinto no JFrame
-    @Override
-    public void paint(Graphics g) {
-        super.paint(g);
-        g.translate(70, 70);      //faça o labirinto começar em 70 para x e 70 para y
-
-        // Desenhar labirinto
-        if (repaint == true) {
-            for (int row = 0; row < maze.length; row++) {
-                for (int col = 0; col < maze[0].length; col++) {
-                    Color color;
-                    switch (maze[row][col]) {
-                        case 1:
-                            color = Color.darkGray;       // parede (preto)
-                            break;
-                        case 8:
-                            color = Color.RED;          // objetivo (vermelho)
-                            break;
-                        case 2:
-                            color = Color.YELLOW;      // inicio   (amarelo)
-                            break;
-                        default:
-                            color = Color.WHITE;        // caminho  (branco)
-                    }
-                    g.setColor(color);
-                    g.fillRect(40 * col, 40 * row, 40, 40);    // cobrir retangulo com cor
-                    g.setColor(Color.BLUE);
-                    g.drawRect(40 * col, 40 * row, 40, 40);    // desenhar retangulo com cor
-                }
-            }
-        }
-
-        if (repaint == false) {   // o que fazer se o repaint for falso (desenhar a solução do labirinto)
-            for (int row = 0; row < maze.length; row++) {
-                for (int col = 0; col < maze[0].length; col++) {
-                    Color color;
-                    switch (maze[row][col]) {
-                        case 1:
-                            color = Color.darkGray;     // parede (preto)
-                            break;
-                        case 8:
-                            color = Color.RED;         // objetivo  (vermelho)
-                            break;
-                        case 2:
-                            color = Color.YELLOW;      // estado inicial   (amarelo)
-                            break;
-                        case 9:
-                            color = Color.green;       // caminho do início até a saída (verde)
-                            break;
-                        default:
-                            color = Color.WHITE;       // caminho livre (branco)
-                    }
-                    g.setColor(color);
-                    g.fillRect(40 * col, 40 * row, 40, 40);  // cobrir retângulo com cor
-                    g.setColor(Color.BLUE);
-                    g.drawRect(40 * col, 40 * row, 40, 40);  // desenhar retângulo com cor
-
-                }
-
-            }
-
-        }
-
-    }
-
     public static void main(String[] args) {
 
         SwingUtilities.invokeLater(new Runnable() {
@@ -386,58 +304,152 @@ public class Maze extends JFrame {
         });
     }
 
-    public void solveQueue() { //BFS .
+    public void solveQueue() { //BFS.
+        solve(Algorithm.BFS);
+    }
+
+    public void solveStack() { //DFS.
+        solve(Algorithm.DFS);
+    }
+
+    public void solveBidirectional() { //BFS bidirecional.
+        solve(Algorithm.BFS_BIDIRECTIONAL);
+    }
+
+    // resolver com o algoritmo escolhido em uma thread de fundo (SwingWorker), para a janela
+    // não travar em labirintos grandes; enquanto busca, a onda de células descobertas é
+    // pintada a cada FRAME_MILLIS e o botão Cancelar interrompe a busca. Retorna a tarefa,
+    // ou null se nem precisou buscar.
+    public SwingWorker<SolveResult, int[]> solve(Algorithm type) {
 
         //Iniciar Timer
         startTime = System.nanoTime();
 
-        //criar LinkedList de MazPos (o nó) é o que nós iremos adicionar e remover da LinkedList
-        LinkedList<MazePos> list = new LinkedList<MazePos>();
-
-        // adicionar nó inicial a lista.
-        list.add(new MazePos(START_I, START_J));
+        // objetivo em outro componente: não precisa nem buscar
+        if (!components.isReachable(maze.start(), maze.goal())) {
+            stopTime = System.nanoTime();
+            JOptionPane.showMessageDialog(rootPane, "Preso no labirinto!!!"
+                    + "\nInício e objetivo em componentes diferentes"
+                    + "\nTempo: " + ((stopTime - startTime) / 1000) + " µs");
+            return null;
+        }
 
-        MazePos crt, next;
-        while (!list.isEmpty()) {
+        // a busca em si é feita pelo MazeSolver, sem interface gráfica; a grade não pode mudar
+        // até ela terminar, por isso os outros botões ficam desabilitados
+        running = new SolveTask(type, new MazeSolver(maze));
+        setSolving(true);
+        running.execute();
+        return running;
+    }
 
-            //pegar posição atual
-            crt = list.removeFirst();
+    // busca na thread de fundo; as células descobertas chegam ao process() em lotes
+    private class SolveTask extends SwingWorker<SolveResult, int[]> {
 
-            //para ter certeza se atingiu o objetivo
-            if (isFinal(crt)) { //se o objetivo é alcançado então saia, não precisa explorar mais.
-                break;
+        private final Algorithm type;
+        private final MazeSolver solver;
+        private final SolveMonitor monitor = new SolveMonitor(FRAME_MILLIS) {
+            @Override
+            protected void publish(int[] cells) {
+                frame(cells);
             }
+        };
 
-            //marcar a posição atual como explorada
-            mark(crt, V);
+        SolveTask(Algorithm type, MazeSolver solver) {
+            this.type = type;
+            this.solver = solver;
+            solver.setMonitor(monitor);
+        }
 
-            //adicionar nós vizinhos na fila
-            next = crt.north();    //cima
-            if (isInMaze(next) && isClear(next)) { //isClear() function is used to implement Graph Search
-                list.add(next);
+        // para a busca na próxima verificação do SolveMonitor; done() avisa o cancelamento
+        void cancelSearch() {
+            monitor.cancel();
+        }
+
+        @Override
+        protected SolveResult doInBackground() {
+            return type.solve(solver);
+        }
+
+        // chamado pelo SolveMonitor na thread da busca
+        private void frame(int[] cells) {
+            publish(cells);
+        }
+
+        // na thread da interface: pinta a onda sem mexer na grade
+        @Override
+        protected void process(List<int[]> frames) {
+            for (int[] cells : frames) {
+                view.highlight(cells, V);
             }
-            next = crt.east();    //direita
-            if (isInMaze(next) && isClear(next)) {
-                list.add(next);
+        }
+
+        @Override
+        protected void done() {
+            running = null;
+            setSolving(false);
+            stopTime = System.nanoTime();
+            SolveResult result;
+            try {
+                result = get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ex) {
+                view.refresh();   // apagar a onda da busca que não terminou
+                if (ex.getCause() instanceof CancellationException) {
+                    JOptionPane.showMessageDialog(rootPane, "Busca cancelada"
+                            + "\nTempo: " + ((stopTime - startTime) / 1000) + " µs");
+                } else if (ex.getCause() instanceof IllegalArgumentException) {
+                    // ex: BFS 0-1 em um labirinto com custos maiores que 1
+                    JOptionPane.showMessageDialog(rootPane, ex.getCause().getMessage(), type.toString(),
+                            JOptionPane.ERROR_MESSAGE);
+                } else {
+                    throw new IllegalStateException(ex.getCause());
+                }
+                return;
             }
-            next = crt.west();    //esquerda
-            if (isInMaze(next) && isClear(next)) {
-                list.add(next);
+            showResult(type, result);
+        }
+    }
+
+    // marcar as células exploradas e o caminho na grade e mostrar os números da busca
+    private void showResult(Algorithm type, SolveResult result) {
+        //marcar as posições exploradas para o MazeView pintar de verde
+        for (int k = 0; k < Size(); k++) {
+            if (result.isExplored(k) && maze.get(k) == C) {
+                maze.set(k, V);
             }
-            next = crt.south();   //baixo
-            if (isInMaze(next) && isClear(next)) {
-                list.add(next);
+        }
+
+        //marcar o caminho mais curto por cima das células exploradas
+        if (result.found()) {
+            for (int k : result.path()) {
+                if (maze.get(k) == V) {
+                    maze.set(k, P);
+                }
             }
         }
 
-        if (!list.isEmpty()) {
-            stopTime = System.nanoTime();
-            JOptionPane.showMessageDialog(rootPane, "Encontrou a saída!");
+        // células exploradas e tempo, para comparar os algoritmos
+        String stats = "\nCélulas exploradas: " + result.visitedCount()
+                + "\nTempo: " + (result.elapsedNanos() / 1000) + " µs";
+        if (result.found()) {
+            JOptionPane.showMessageDialog(rootPane, "Encontrou a saída!" + stats
+                    + "\nTamanho do caminho: " + result.pathLength()
+                    + "\nCusto do caminho: " + result.pathCost());
         } else {
-            JOptionPane.showMessageDialog(rootPane, "Preso no labirinto!!!");
+            JOptionPane.showMessageDialog(rootPane, "Preso no labirinto!!!" + stats);
         }
 
-        System.out.println("\nAchar o caminho por algoritmo BFS: ");
+        System.out.println("\nAchar o caminho por algoritmo " + type + ": ");
         Print();
     }
-}
\ No newline at end of file
+
+    // durante a busca só o Cancelar fica habilitado
+    private void setSolving(boolean solving) {
+        solveBFS.setEnabled(!solving);
+        algorithm.setEnabled(!solving);
+        genRandom.setEnabled(!solving);
+        cancel.setEnabled(solving);
+    }
+}
@@ -0,0 +1,128 @@
+package maze;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+// Formato binário de labirinto para grades enormes, pensado para ser aberto com
+// FileChannel.map (ver MappedMaze). Cabeçalho de 32 bytes, big-endian:
+//
+//   0  int   MAGIC ("MAZE")
+//   4  byte  versão (1)
+//   5  byte  bits por célula: 1 (bit 1 = parede) ou 8 (um byte com o valor do MazeGrid)
+//   6  short reservado
+//   8  int   largura
+//  12  int   altura
+//  16  long  início (i * largura + j)
+//  24  long  objetivo (i * largura + j)
+//
+// Depois vêm as células linha após linha. No modo de 1 bit a célula k é o bit (k % 8) do
+// byte k / 8 (bit menos significativo primeiro), sem alinhar as linhas em bytes.
+public class MazeFile {
+
+    public final static int MAGIC = 0x4D415A45;
+    public final static int VERSION = 1;
+    public final static int HEADER_SIZE = 32;
+
+    private MazeFile() {
+    }
+
+    // gravar uma grade que já está na memória
+    public static void write(MazeGrid grid, String filePath, int bitsPerCell) throws IOException {
+        try (Writer out = new Writer(filePath, grid.width(), grid.height(), grid.start(), grid.goal(), bitsPerCell)) {
+            byte[] cells = grid.cells();
+            byte[] row = new byte[grid.width()];
+            for (int i = 0; i < grid.height(); i++) {
+                System.arraycopy(cells, i * grid.width(), row, 0, row.length);
+                out.writeRow(row);
+            }
+        }
+    }
+
+    // tamanho do arquivo (cabeçalho + células)
+    public static long fileSize(long cells, int bitsPerCell) {
+        return HEADER_SIZE + (bitsPerCell == 1 ? (cells + 7) / 8 : cells);
+    }
+
+    // grava o arquivo uma linha por vez, então dá para gerar labirintos maiores que a memória
+    public static final class Writer implements AutoCloseable {
+
+        private final DataOutputStream out;
+        private final int width;
+        private final int height;
+        private final int bitsPerCell;
+        private int rows;          // linhas já gravadas
+        private int pending;       // bits ainda não gravados (modo de 1 bit)
+        private int pendingCount;
+        private byte[] packed;     // bytes prontos da linha atual (modo de 1 bit)
+
+        public Writer(String filePath, int width, int height, long start, long goal, int bitsPerCell)
+                throws IOException {
+            if (bitsPerCell != 1 && bitsPerCell != 8) {
+                throw new IllegalArgumentException("bits por célula deve ser 1 ou 8: " + bitsPerCell);
+            }
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("dimensões inválidas: " + width + " x " + height);
+            }
+            this.width = width;
+            this.height = height;
+            this.bitsPerCell = bitsPerCell;
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filePath), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(bitsPerCell);
+            out.writeShort(0);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeLong(start);
+            out.writeLong(goal);
+        }
+
+        // grava a próxima linha (valores do MazeGrid; só X conta como parede no modo de 1 bit)
+        public void writeRow(byte[] row) throws IOException {
+            if (row.length != width) {
+                throw new IllegalArgumentException("linha com " + row.length + " células, esperado " + width);
+            }
+            if (rows == height) {
+                throw new IllegalStateException("todas as " + height + " linhas já foram gravadas");
+            }
+            if (bitsPerCell == 8) {
+                out.write(row);
+            } else {
+                // junta os bits da linha em packed e grava tudo de uma vez
+                if (packed == null) {
+                    packed = new byte[width / 8 + 2];
+                }
+                int n = 0;
+                for (int j = 0; j < width; j++) {
+                    if (row[j] == MazeGrid.X) {
+                        pending |= 1 << pendingCount;
+                    }
+                    if (++pendingCount == 8) {
+                        packed[n++] = (byte) pending;
+                        pending = 0;
+                        pendingCount = 0;
+                    }
+                }
+                out.write(packed, 0, n);
+            }
+            rows++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (pendingCount > 0) {
+                    out.write(pending);
+                    pendingCount = 0;
+                }
+                if (rows != height) {
+                    throw new IOException("arquivo incompleto: " + rows + " de " + height + " linhas");
+                }
+            } finally {
+                out.close();
+            }
+        }
+    }
+}
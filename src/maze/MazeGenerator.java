@@ -0,0 +1,306 @@
+package maze;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Geradores de labirintos perfeitos (um único caminho entre quaisquer duas salas, então
+// sempre existe saída). As salas ficam nas posições ímpares (1, 3, 5, ...) e as paredes
+// entre elas nas pares, com uma moldura de paredes em volta; se a largura ou a altura for
+// par, a última coluna ou linha fica toda de parede. O início é a primeira sala (1,1) e o
+// objetivo a última. A mesma semente gera sempre o mesmo labirinto.
+//
+// - recursiveBacktracker: DFS aleatória com pilha de int (sem recursão), corredores longos
+//   (TiledMazeGenerator faz o mesmo em blocos, em paralelo)
+// - kruskal: paredes em ordem aleatória, derrubadas com union-find, muitos becos curtos
+// - eller / ellerToFile: uma linha de salas por vez, memória O(largura); o arquivo é
+//   gravado linha a linha pelo MazeFile.Writer, então cabe um labirinto de 10^9 células
+public class MazeGenerator {
+
+    private MazeGenerator() {
+    }
+
+    public static MazeGrid recursiveBacktracker(int width, int height, long seed) {
+        MazeGrid grid = walls(width, height);
+        carveBacktracker(grid.cells(), width, 0, 0, roomsX(width), roomsY(height), new SplittableRandom(seed));
+        return finish(grid);
+    }
+
+    // DFS aleatória só nas salas [rx0, rx1) x [ry0, ry1), que precisam estar todas fechadas
+    // (X); os geradores em blocos chamam isto para cada bloco, em paralelo
+    static void carveBacktracker(byte[] cells, int width, int rx0, int ry0, int rx1, int ry1,
+                                 SplittableRandom rnd) {
+        int w = rx1 - rx0;   // salas por linha no retângulo
+        int h = ry1 - ry0;
+        IntStack stack = new IntStack(64);
+        int[] options = new int[4];
+        cells[cellOf(rx0, ry0, width)] = MazeGrid.C;
+        stack.push(0);
+
+        while (!stack.isEmpty()) {
+            int room = stack.peek();   // índice dentro do retângulo
+            int ri = room / w;
+            int rj = room % w;
+            int cell = cellOf(rx0 + rj, ry0 + ri, width);
+
+            // vizinhas ainda não visitadas (sala ainda é parede)
+            int n = 0;
+            if (ri > 0 && cells[cell - 2 * width] == MazeGrid.X) {
+                options[n++] = room - w;
+            }
+            if (rj + 1 < w && cells[cell + 2] == MazeGrid.X) {
+                options[n++] = room + 1;
+            }
+            if (rj > 0 && cells[cell - 2] == MazeGrid.X) {
+                options[n++] = room - 1;
+            }
+            if (ri + 1 < h && cells[cell + 2 * width] == MazeGrid.X) {
+                options[n++] = room + w;
+            }
+            if (n == 0) {
+                stack.pop();   // beco: volta
+                continue;
+            }
+
+            int next = options[rnd.nextInt(n)];
+            int b = cellOf(rx0 + next % w, ry0 + next / w, width);
+            cells[(cell + b) >>> 1] = MazeGrid.C;   // parede entre as duas salas
+            cells[b] = MazeGrid.C;
+            stack.push(next);
+        }
+    }
+
+    public static MazeGrid kruskal(int width, int height, long seed) {
+        MazeGrid grid = walls(width, height);
+        SplittableRandom rnd = new SplittableRandom(seed);
+        byte[] cells = grid.cells();
+        int roomsX = roomsX(width);
+        int roomsY = roomsY(height);
+        int rooms = roomsX * roomsY;
+
+        for (int room = 0; room < rooms; room++) {
+            cells[roomCell(room, width, roomsX)] = MazeGrid.C;
+        }
+
+        // paredes internas: 2 * sala (para a direita) e 2 * sala + 1 (para baixo)
+        int[] edges = new int[2 * rooms];
+        int m = 0;
+        for (int room = 0; room < rooms; room++) {
+            if (room % roomsX + 1 < roomsX) {
+                edges[m++] = 2 * room;
+            }
+            if (room / roomsX + 1 < roomsY) {
+                edges[m++] = 2 * room + 1;
+            }
+        }
+        // embaralhar (Fisher-Yates)
+        for (int k = m - 1; k > 0; k--) {
+            int r = rnd.nextInt(k + 1);
+            int t = edges[k];
+            edges[k] = edges[r];
+            edges[r] = t;
+        }
+
+        int[] parent = new int[rooms];
+        for (int room = 0; room < rooms; room++) {
+            parent[room] = room;
+        }
+        int joined = 0;
+        for (int k = 0; k < m && joined < rooms - 1; k++) {
+            int room = edges[k] >>> 1;
+            int other = (edges[k] & 1) == 0 ? room + 1 : room + roomsX;
+            int ra = find(parent, room);
+            int rb = find(parent, other);
+            if (ra != rb) {
+                parent[rb] = ra;
+                int a = roomCell(room, width, roomsX);
+                int b = roomCell(other, width, roomsX);
+                cells[(a + b) >>> 1] = MazeGrid.C;
+                joined++;
+            }
+        }
+        return finish(grid);
+    }
+
+    public static MazeGrid eller(int width, int height, long seed) {
+        final MazeGrid grid = walls(width, height);
+        try {
+            eller(width, height, seed, new RowSink() {
+                private int i;
+
+                @Override
+                public void row(byte[] row) {
+                    System.arraycopy(row, 0, grid.cells(), i++ * width, width);
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e);   // não acontece: a grade está na memória
+        }
+        return finish(grid);
+    }
+
+    // gera direto no arquivo (formato do MazeFile), sem montar a grade na memória
+    public static void ellerToFile(String filePath, int width, int height, long seed, int bitsPerCell)
+            throws IOException {
+        checkSize(width, height);
+        long start = roomCell(0, width);
+        long goal = (long) (2 * roomsY(height) - 1) * width + 2 * roomsX(width) - 1;
+        try (final MazeFile.Writer out = new MazeFile.Writer(filePath, width, height, start, goal, bitsPerCell)) {
+            eller(width, height, seed, new RowSink() {
+                @Override
+                public void row(byte[] row) throws IOException {
+                    out.writeRow(row);
+                }
+            });
+        }
+    }
+
+    // recebe as linhas do Eller, de cima para baixo
+    private interface RowSink {
+        void row(byte[] row) throws IOException;
+    }
+
+    // algoritmo de Eller: cada sala da linha atual pertence a um conjunto; junta salas
+    // vizinhas de conjuntos diferentes ao acaso, desce pelo menos uma vez de cada conjunto
+    // e esquece a linha. Na última linha junta tudo o que ainda estiver separado.
+    private static void eller(int width, int height, long seed, RowSink sink) throws IOException {
+        checkSize(width, height);
+        SplittableRandom rnd = new SplittableRandom(seed);
+        int roomsX = roomsX(width);
+        int roomsY = roomsY(height);
+
+        int[] label = new int[roomsX];      // conjunto de cada sala da linha (-1 = nenhum)
+        int[] parent = new int[roomsX];     // union-find sobre os rótulos da linha
+        int[] members = new int[roomsX];    // salas de cada conjunto ainda não decididas
+        boolean[] down = new boolean[roomsX];
+        boolean[] used = new boolean[roomsX];
+        byte[] rooms = new byte[width];
+        byte[] below = new byte[width];
+        Arrays.fill(label, -1);
+
+        Arrays.fill(below, (byte) MazeGrid.X);
+        sink.row(below);   // moldura de cima
+
+        for (int ri = 0; ri < roomsY; ri++) {
+            boolean last = ri == roomsY - 1;
+
+            // salas sem conjunto ganham um rótulo livre
+            Arrays.fill(used, false);
+            for (int k = 0; k < roomsX; k++) {
+                if (label[k] >= 0) {
+                    used[label[k]] = true;
+                }
+            }
+            int free = 0;
+            for (int k = 0; k < roomsX; k++) {
+                if (label[k] < 0) {
+                    while (used[free]) {
+                        free++;
+                    }
+                    label[k] = free;
+                    used[free] = true;
+                }
+            }
+            for (int l = 0; l < roomsX; l++) {
+                parent[l] = l;
+            }
+
+            // juntar na horizontal
+            Arrays.fill(rooms, (byte) MazeGrid.X);
+            for (int k = 0; k < roomsX; k++) {
+                rooms[2 * k + 1] = MazeGrid.C;
+                if (k + 1 < roomsX) {
+                    int a = find(parent, label[k]);
+                    int b = find(parent, label[k + 1]);
+                    if (a != b && (last || rnd.nextBoolean())) {
+                        parent[b] = a;
+                        rooms[2 * k + 2] = MazeGrid.C;
+                    }
+                }
+            }
+            for (int k = 0; k < roomsX; k++) {
+                label[k] = find(parent, label[k]);
+            }
+            if (ri == 0) {
+                rooms[1] = MazeGrid.S;
+            }
+            if (last) {
+                rooms[2 * roomsX - 1] = MazeGrid.E;
+            }
+            sink.row(rooms);
+
+            // descer: cada conjunto desce pelo menos uma vez
+            Arrays.fill(below, (byte) MazeGrid.X);
+            if (!last) {
+                Arrays.fill(members, 0);
+                Arrays.fill(down, false);
+                for (int k = 0; k < roomsX; k++) {
+                    members[label[k]]++;
+                }
+                for (int k = 0; k < roomsX; k++) {
+                    int s = label[k];
+                    int remaining = --members[s];
+                    if (rnd.nextBoolean() || (remaining == 0 && !down[s])) {
+                        down[s] = true;
+                        below[2 * k + 1] = MazeGrid.C;
+                    } else {
+                        label[k] = -1;
+                    }
+                }
+            }
+            sink.row(below);
+        }
+
+        // linha que sobra quando a altura é par
+        Arrays.fill(below, (byte) MazeGrid.X);
+        for (int i = 2 * roomsY + 1; i < height; i++) {
+            sink.row(below);
+        }
+    }
+
+    // grade toda de parede
+    static MazeGrid walls(int width, int height) {
+        checkSize(width, height);
+        MazeGrid grid = new MazeGrid(width, height);
+        Arrays.fill(grid.cells(), (byte) MazeGrid.X);
+        return grid;
+    }
+
+    static MazeGrid finish(MazeGrid grid) {
+        grid.setStart(1, 1);
+        grid.setGoal(2 * roomsY(grid.height()) - 1, 2 * roomsX(grid.width()) - 1);
+        return grid;
+    }
+
+    private static void checkSize(int width, int height) {
+        if (width < 3 || height < 3) {
+            throw new IllegalArgumentException("labirinto precisa de pelo menos 3 x 3: " + width + " x " + height);
+        }
+    }
+
+    static int roomsX(int width) { return (width - 1) / 2; }
+
+    static int roomsY(int height) { return (height - 1) / 2; }
+
+    // célula da sala (rx, ry)
+    static int cellOf(int rx, int ry, int width) {
+        return (2 * ry + 1) * width + 2 * rx + 1;
+    }
+
+    // célula da sala (na grade de largura width)
+    private static int roomCell(int room, int width, int roomsX) {
+        return (2 * (room / roomsX) + 1) * width + 2 * (room % roomsX) + 1;
+    }
+
+    private static int roomCell(int room, int width) {
+        return roomCell(room, width, roomsX(width));
+    }
+
+    static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+}
@@ -0,0 +1,262 @@
+package maze;
+
+import java.util.Arrays;
+
+// Grade retangular do labirinto (largura x altura qualquer) guardada em um único array
+// linear: a célula (i, j) fica na posição i * largura + j. Cada célula ocupa 1 byte,
+// já que os valores possíveis são só X, C, S, E, V e P.
+public class MazeGrid {
+
+    //parades são os blocos pretos
+    public final static int X = 1;
+
+    //caminhos são os blocos brancos
+    public final static int C = 0;
+
+    //estado inicial
+    public final static int S = 2;
+
+    //objetivo
+    public final static int E = 8;
+
+    //caminho explorado
+    public final static int V = 9;
+
+    //caminho mais curto encontrado
+    public final static int P = 7;
+
+    private final int width;     // número de colunas
+    private final int height;    // número de linhas
+    private final byte[] cells;  // células, linha após linha
+
+    private int[] costs;         // custo para entrar em cada célula (null = todas custam 1)
+
+    private int start;           // estado inicial (índice compactado)
+    private int goal;            // objetivo (índice compactado)
+
+    private GridListener[] listeners = new GridListener[0];
+    private long version;        // incrementado a cada mudança (células ou custos)
+
+    public MazeGrid(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("dimensões inválidas: " + width + " x " + height);
+        }
+        if ((long) width * height > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("labirinto grande demais: " + width + " x " + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+        this.start = 0;
+        this.goal = cells.length - 1;
+        cells[start] = S;
+        cells[goal] = E;
+    }
+
+    // criar a grade a partir de uma matriz (todas as linhas com o mesmo tamanho)
+    public static MazeGrid fromArray(int[][] rows, int startI, int startJ, int endI, int endJ) {
+        MazeGrid grid = new MazeGrid(rows[0].length, rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].length != grid.width) {
+                throw new IllegalArgumentException("linha " + i + " tem tamanho diferente");
+            }
+            for (int j = 0; j < grid.width; j++) {
+                grid.cells[i * grid.width + j] = (byte) rows[i][j];
+            }
+        }
+        grid.setStart(startI, startJ);
+        grid.setGoal(endI, endJ);
+        return grid;
+    }
+
+    public int width() { return width; }
+
+    public int height() { return height; }
+
+    // quantidade total de células
+    public int size() { return cells.length; }
+
+    // array linear das células, usado diretamente pelos solvers do pacote
+    byte[] cells() { return cells; }
+
+    // compactar (i, j) em um único int
+    public int index(int i, int j) { return i * width + j; }
+
+    public int row(int index) { return index / width; }
+
+    public int col(int index) { return index % width; }
+
+    // retornar verdadeiro se a celula estiver no labirinto
+    public boolean isInMaze(int i, int j) {
+        return i >= 0 && i < height && j >= 0 && j < width;
+    }
+
+    public boolean isInMaze(int index) {
+        return index >= 0 && index < cells.length;
+    }
+
+    public int get(int i, int j) { return cells[i * width + j]; }
+
+    public int get(int index) { return cells[index]; }
+
+    // muda o valor da célula e retorna o valor antigo
+    public int set(int i, int j, int value) {
+        return set(i * width + j, value);
+    }
+
+    public int set(int index, int value) {
+        int temp = cells[index];
+        cells[index] = (byte) value;
+        if (temp != (byte) value) {
+            version++;
+            if (listeners.length != 0) {
+                fireCellChanged(index, temp, (byte) value);
+            }
+        }
+        return temp;
+    }
+
+    // versão da grade: muda sempre que alguma célula ou custo muda, então quem guarda
+    // resultados calculados sobre a grade sabe se eles ainda valem
+    public long version() { return version; }
+
+    // registrar quem deve ser avisado das mudanças nas células
+    public void addListener(GridListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    public void removeListener(GridListener listener) {
+        for (int k = 0; k < listeners.length; k++) {
+            if (listeners[k] == listener) {
+                GridListener[] rest = new GridListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, rest, 0, k);
+                System.arraycopy(listeners, k + 1, rest, k, rest.length - k);
+                listeners = rest;
+                return;
+            }
+        }
+    }
+
+    private void fireCellChanged(int index, int oldValue, int newValue) {
+        for (GridListener listener : listeners) {
+            listener.cellChanged(this, index, oldValue, newValue);
+        }
+    }
+
+    // retornar verdadeiro se a célula não for parede nem já explorada
+    public boolean isClear(int index) {
+        return isClear(cells[index]);
+    }
+
+    // a única definição de célula passável, usada por todos os solvers: paredes (X) e as
+    // marcas de uma busca anterior (V, P) bloqueiam; livre, início e objetivo não
+    public static boolean isClear(byte value) {
+        return value != X && value != V && value != P;
+    }
+
+    public boolean isClear(int i, int j) { return isClear(i * width + j); }
+
+    // retornar verdadeiro se alguma célula tem custo diferente do padrão
+    public boolean hasCosts() { return costs != null; }
+
+    // custo para entrar na célula (terreno); 1 se nenhum custo foi definido
+    public int cost(int index) { return costs == null ? 1 : costs[index]; }
+
+    public int cost(int i, int j) { return cost(i * width + j); }
+
+    // array de custos (ou null), usado diretamente pelos solvers do pacote
+    int[] costs() { return costs; }
+
+    public void setCost(int i, int j, int cost) { setCost(i * width + j, cost); }
+
+    public void setCost(int index, int cost) {
+        if (cost < 0) {
+            throw new IllegalArgumentException("custo negativo: " + cost);
+        }
+        if (costs == null) {
+            if (cost == 1) {
+                return;
+            }
+            costs = new int[cells.length];
+            Arrays.fill(costs, 1);
+        }
+        costs[index] = cost;
+        version++;
+    }
+
+    // volta todas as células para o custo 1
+    public void clearCosts() {
+        costs = null;
+        version++;
+    }
+
+    public int start() { return start; }
+
+    public int goal() { return goal; }
+
+    public int startRow() { return start / width; }
+
+    public int startCol() { return start % width; }
+
+    public int goalRow() { return goal / width; }
+
+    public int goalCol() { return goal % width; }
+
+    // muda o estado inicial e marca a célula com S (o S antigo volta a ser caminho); não
+    // aceita uma parede, que seria apagada sem ninguém perceber
+    public void setStart(int i, int j) {
+        if (!isInMaze(i, j)) {
+            throw new IllegalArgumentException("início fora do labirinto: (" + i + "," + j + ")");
+        }
+        if (cells[index(i, j)] == X) {
+            throw new IllegalArgumentException("início em uma parede: (" + i + "," + j + ")");
+        }
+        if (cells[start] == S) {
+            set(start, C);
+        }
+        start = index(i, j);
+        set(start, S);
+    }
+
+    // muda o objetivo e marca a célula com E (o E antigo volta a ser caminho); também não
+    // aceita uma parede
+    public void setGoal(int i, int j) {
+        if (!isInMaze(i, j)) {
+            throw new IllegalArgumentException("objetivo fora do labirinto: (" + i + "," + j + ")");
+        }
+        if (cells[index(i, j)] == X) {
+            throw new IllegalArgumentException("objetivo em uma parede: (" + i + "," + j + ")");
+        }
+        if (cells[goal] == E) {
+            set(goal, C);
+        }
+        goal = index(i, j);
+        set(goal, E);
+    }
+
+    // fazer copia da grade (células, início e objetivo; os listeners não são copiados)
+    public MazeGrid copy() {
+        MazeGrid copy = new MazeGrid(width, height);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        copy.costs = costs == null ? null : costs.clone();
+        copy.start = start;
+        copy.goal = goal;
+        return copy;
+    }
+
+    // copiar as células de outra grade com as mesmas dimensões
+    public void copyFrom(MazeGrid other) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException("dimensões diferentes: " + other.width + " x " + other.height);
+        }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        costs = other.costs == null ? null : other.costs.clone();
+        start = other.start;
+        goal = other.goal;
+        version++;
+        for (GridListener listener : listeners) {
+            listener.gridReplaced(this);
+        }
+    }
+}
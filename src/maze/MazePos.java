@@ -1,38 +1,163 @@
 package maze;
-public class MazePos {
-
-    int i,j;                   // cell position
-    
-    public MazePos(int i, int j){
-     this.i=i;
-     this.j=j;
-    };
-    public int i() { return i;}   // get i (for overloaded methods)
-
-    public int j() { return j;}   // get j (for overloaded methods)
-    
-    public void Print(){
-       System.out.println("(" + i + "," + j + ")");  //print the position
-    }
-    
-    // go up
-    public MazePos north(){
-      return new MazePos(i-1,j);
-    }
-    
-    //go down
-    public MazePos south(){
-        return new MazePos(i+1 , j);
-    }
-    
-    //go right
-    public MazePos east(){
-        return new MazePos(i,j+1);
-    }
-    
-    //go left
-    public MazePos west(){
-      return new MazePos(i,j-1);
-    }
-    
+
+// Posição (linha i, coluna j) de uma célula. Imutável e baseada em valor: equals/hashCode
+// comparam as coordenadas, então pode ser chave de HashMap/HashSet e de caches. Não dependa
+// da identidade (==) nem sincronize nela; posições pequenas vêm de um cache compartilhado.
+//
+// Para guardar muitas posições sem um objeto por célula use as formas compactadas:
+// pack() em um long (qualquer coordenada int) ou index(largura) em um int (i * largura + j,
+// o mesmo índice da MazeGrid), e os métodos estáticos de vizinhança sobre esse índice.
+public final class MazePos {
+
+    // direções, na ordem em que as buscas visitam os vizinhos
+    public final static int NORTH = 0;   // cima
+    public final static int EAST = 1;    // direita
+    public final static int WEST = 2;    // esquerda
+    public final static int SOUTH = 3;   // baixo
+    public final static int DIRECTIONS = 4;
+
+    private final static int[] DI = {-1, 0, 0, 1};
+    private final static int[] DJ = {0, 1, -1, 0};
+
+    // posições [0, CACHE) x [0, CACHE) já criadas (como Integer.valueOf)
+    private final static int CACHE = 64;
+
+    private final int i, j;                   // posição da célula
+
+    public MazePos(int i, int j) {
+        this.i = i;
+        this.j = j;
+    }
+
+    // de preferência a new MazePos: reaproveita as posições pequenas
+    public static MazePos of(int i, int j) {
+        if (i >= 0 && i < CACHE && j >= 0 && j < CACHE) {
+            return Cache.POSITIONS[i * CACHE + j];
+        }
+        return new MazePos(i, j);
+    }
+
+    // criado só na primeira chamada de of()
+    private static final class Cache {
+        final static MazePos[] POSITIONS = new MazePos[CACHE * CACHE];
+
+        static {
+            for (int k = 0; k < POSITIONS.length; k++) {
+                POSITIONS[k] = new MazePos(k / CACHE, k % CACHE);
+            }
+        }
+    }
+
+    public int i() { return i; }
+
+    public int j() { return j; }
+
+    public void Print() {
+        System.out.println(this);   // printar a posição
+    }
+
+    // cima
+    public MazePos north() {
+        return of(i - 1, j);
+    }
+
+    // baixo
+    public MazePos south() {
+        return of(i + 1, j);
+    }
+
+    // direita
+    public MazePos east() {
+        return of(i, j + 1);
+    }
+
+    // esquerda
+    public MazePos west() {
+        return of(i, j - 1);
+    }
+
+    // vizinha na direção (NORTH, EAST, WEST ou SOUTH), podendo estar fora do labirinto
+    public MazePos neighbour(int direction) {
+        return of(i + DI[direction], j + DJ[direction]);
+    }
+
+    // posição compactada em um long: linha nos 32 bits de cima, coluna nos de baixo
+    public long pack() {
+        return pack(i, j);
+    }
+
+    public static long pack(int i, int j) {
+        return ((long) i << 32) | (j & 0xffffffffL);
+    }
+
+    public static MazePos unpack(long packed) {
+        return of(packedRow(packed), packedCol(packed));
+    }
+
+    public static int packedRow(long packed) { return (int) (packed >> 32); }
+
+    public static int packedCol(long packed) { return (int) packed; }
+
+    // índice na grade de largura width (i * width + j), o mesmo da MazeGrid
+    public int index(int width) {
+        return i * width + j;
+    }
+
+    public static MazePos fromIndex(int index, int width) {
+        return of(index / width, index % width);
+    }
+
+    // vizinhas de uma célula compactada (i * width + j) que estão dentro da grade de
+    // width x height, escritas em out (pelo menos 4 posições) na ordem NORTH, EAST, WEST,
+    // SOUTH; retorna quantas são. Não aloca nada.
+    public static int neighbours(int index, int width, int height, int[] out) {
+        int i = index / width;
+        int j = index % width;
+        int n = 0;
+        if (i > 0) {
+            out[n++] = index - width;
+        }
+        if (j + 1 < width) {
+            out[n++] = index + 1;
+        }
+        if (j > 0) {
+            out[n++] = index - 1;
+        }
+        if (i + 1 < height) {
+            out[n++] = index + width;
+        }
+        return n;
+    }
+
+    // vizinha na direção, ou -1 se ela sair da grade de width x height
+    public static int neighbour(int index, int direction, int width, int height) {
+        int i = index / width + DI[direction];
+        int j = index % width + DJ[direction];
+        if (i < 0 || i >= height || j < 0 || j >= width) {
+            return -1;
+        }
+        return i * width + j;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof MazePos)) {
+            return false;
+        }
+        MazePos pos = (MazePos) other;
+        return i == pos.i && j == pos.j;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * i + j;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + i + "," + j + ")";
+    }
 }
@@ -0,0 +1,572 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
+
+// Motor de busca sem interface gráfica: recebe a grade do labirinto e devolve um SolveResult.
+// Não abre janelas, não mostra JOptionPane e não imprime nada no console, então pode ser
+// usado em um servidor ou em um processamento em lote (JVM headless).
+public class MazeSolver {
+
+    // de onde cada célula foi alcançada; guardado no próprio byte de visitados
+    // (0 = não visitada), então o caminho sai sem nenhum array extra de pais
+    final static byte FROM_SOUTH = 1;   // entrou indo para cima (veio da célula de baixo)
+    final static byte FROM_WEST = 2;    // entrou indo para a direita
+    final static byte FROM_EAST = 3;    // entrou indo para a esquerda
+    final static byte FROM_NORTH = 4;   // entrou indo para baixo
+    final static byte FROM_START = 5;   // célula inicial
+
+    // código de chegada de quem anda em cada direção do MazePos (NORTH, EAST, WEST, SOUTH)
+    private final static byte[] ARRIVAL = {FROM_SOUTH, FROM_WEST, FROM_EAST, FROM_NORTH};
+
+    // grade do labirinto; nunca é modificada pelo solver
+    private final MazeGrid grid;
+
+    // buffers reaproveitados entre buscas do modo compactado (por isso o solver não é thread-safe)
+    private byte[] visitedCells;
+    private IntQueue queue;
+
+    // pilha da DFS, reaproveitada como a fila
+    private IntStack stack;
+
+    // buffers da busca que parte do objetivo (BFS bidirecional)
+    private byte[] visitedCellsBack;
+    private IntQueue queueBack;
+    private int discovered;   // células descobertas na busca bidirecional em andamento
+    private int expanded;     // células expandidas nela (métricas)
+
+    // A* e JPS, criados na primeira vez que forem usados
+    private AStarSolver informed;
+
+    // Dijkstra e BFS 0-1 (custos por célula), criados na primeira vez que forem usados
+    private WeightedSolver weighted;
+
+    // BFS paralela, criada na primeira vez que for usada
+    private ParallelBfs parallel;
+
+    // recebe as células descobertas e pode cancelar a busca (null = ninguém acompanhando)
+    private SolveMonitor monitor;
+
+    public MazeSolver(MazeGrid grid) {
+        this.grid = grid;
+    }
+
+    public MazeGrid grid() { return grid; }
+
+    // acompanhar as próximas buscas (de todos os algoritmos); null para parar
+    public void setMonitor(SolveMonitor monitor) {
+        this.monitor = monitor;
+        if (informed != null) {
+            informed.setMonitor(monitor);
+        }
+        if (weighted != null) {
+            weighted.setMonitor(monitor);
+        }
+        if (parallel != null) {
+            parallel.setMonitor(monitor);
+        }
+    }
+
+    SolveMonitor monitor() { return monitor; }
+
+    // BFS com LinkedList<MazePos>, do início ao objetivo da grade
+    public SolveResult solveQueue() {
+        return solveQueue(grid.startRow(), grid.startCol(), grid.goalRow(), grid.goalCol());
+    }
+
+    // BFS a partir de (startI, startJ) até (endI, endJ)
+    public SolveResult solveQueue(int startI, int startJ, int endI, int endJ) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (!grid.isInMaze(startI, startJ) || !grid.isInMaze(endI, endJ)) {
+            throw new IllegalArgumentException("início ou objetivo fora do labirinto");
+        }
+        if (!grid.isClear(startI, startJ) || !grid.isClear(endI, endJ)) {
+            return unreachable("BFS (LinkedList)", grid, startTime, metrics);
+        }
+
+        // células já colocadas na fila (no lugar de escrever V na grade), com a direção de chegada
+        byte[] explored = new byte[grid.size()];
+
+        LinkedList<MazePos> list = new LinkedList<MazePos>();
+        list.add(MazePos.of(startI, startJ));
+        explored[grid.index(startI, startJ)] = FROM_START;
+        int visited = 1;
+        SolveMonitor watch = monitor;
+        int expanded = 0;
+        int peak = 1;
+        boolean found = false;
+
+        MazePos crt, next;
+        while (!list.isEmpty()) {
+            peak = Math.max(peak, list.size());
+            crt = list.removeFirst();
+            expanded++;
+
+            if (crt.i() == endI && crt.j() == endJ) {
+                found = true;
+                break;
+            }
+
+            //adicionar nós vizinhos na fila (cima, direita, esquerda, baixo)
+            for (int d = 0; d < MazePos.DIRECTIONS; d++) {
+                next = crt.neighbour(d);
+                byte from = ARRIVAL[d];
+                if (grid.isInMaze(next.i(), next.j()) && grid.isClear(next.i(), next.j())) {
+                    int idx = grid.index(next.i(), next.j());
+                    if (explored[idx] == 0) {
+                        explored[idx] = from;
+                        visited++;
+                        if (watch != null) {
+                            watch.discovered(idx);
+                        }
+                        list.add(next);
+                    }
+                }
+            }
+        }
+
+        int[] path = found ? tracePath(explored, grid.index(endI, endJ), grid.width()) : null;
+        SolveResult result = new SolveResult(found, visited, explored, grid.width(), path, System.nanoTime() - startTime);
+        return SolveMetrics.report("BFS (LinkedList)", grid.size(), result, expanded, peak, 4L * expanded, metrics);
+    }
+
+    // BFS compactado, do início ao objetivo da grade
+    public SolveResult solveQueuePacked() {
+        return solveQueuePacked(grid.start(), grid.goal());
+    }
+
+    public SolveResult solveQueuePacked(int startI, int startJ, int endI, int endJ) {
+        return solveQueuePacked(grid.index(startI, startJ), grid.index(endI, endJ));
+    }
+
+    // BFS com células compactadas em int (i * largura + j), fila circular int[] reaproveitada
+    // e marcação de visitados em byte[]; a fila só cresce até o tamanho da maior fronteira, e
+    // depois da primeira busca não aloca nada por célula.
+    public SolveResult solveQueuePacked(int start, int goal) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (!canSearch(grid, start, goal)) {
+            return unreachable(Algorithm.BFS.toString(), grid, startTime, metrics);
+        }
+
+        int cols = grid.width();
+        int cells = grid.size();
+        byte[] maze = grid.cells();
+
+        visitedCells = clearVisited(visitedCells, cells);
+        queue = clearQueue(queue, cells);
+
+        byte[] seen = visitedCells;
+        SolveMonitor watch = monitor;
+        queue.add(start);
+        seen[start] = FROM_START;
+        int visited = 1;
+        int expanded = 0;
+        int peak = 1;
+        boolean found = false;
+
+        while (!queue.isEmpty()) {
+            peak = Math.max(peak, queue.size());
+            int crt = queue.poll();
+            expanded++;
+            if (crt == goal) {
+                found = true;
+                break;
+            }
+
+            int j = crt % cols;
+            int next;
+
+            //cima
+            next = crt - cols;
+            if (next >= 0 && seen[next] == 0 && MazeGrid.isClear(maze[next])) {
+                seen[next] = FROM_SOUTH;
+                visited++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                queue.add(next);
+            }
+            //direita
+            next = crt + 1;
+            if (j + 1 < cols && seen[next] == 0 && MazeGrid.isClear(maze[next])) {
+                seen[next] = FROM_WEST;
+                visited++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                queue.add(next);
+            }
+            //esquerda
+            next = crt - 1;
+            if (j > 0 && seen[next] == 0 && MazeGrid.isClear(maze[next])) {
+                seen[next] = FROM_EAST;
+                visited++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                queue.add(next);
+            }
+            //baixo
+            next = crt + cols;
+            if (next < cells && seen[next] == 0 && MazeGrid.isClear(maze[next])) {
+                seen[next] = FROM_NORTH;
+                visited++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                queue.add(next);
+            }
+        }
+
+        int[] path = found ? tracePath(seen, goal, cols) : null;
+        SolveResult result = new SolveResult(found, visited, seen, cols, path, System.nanoTime() - startTime);
+        return SolveMetrics.report(Algorithm.BFS.toString(), cells, result, expanded, peak, 4L * expanded, metrics);
+    }
+
+    // DFS, do início ao objetivo da grade
+    public SolveResult solveStack() {
+        return solveStack(grid.start(), grid.goal());
+    }
+
+    // DFS iterativa com pilha de int (sem recursão, então não estoura em labirintos muito
+    // profundos). Cada célula entra na pilha uma vez só: é marcada com a direção de chegada
+    // quando é empilhada. Responde se o objetivo é alcançável; o caminho devolvido é o da
+    // árvore da DFS, não necessariamente o mais curto.
+    public SolveResult solveStack(int start, int goal) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (!canSearch(grid, start, goal)) {
+            return unreachable(Algorithm.DFS.toString(), grid, startTime, metrics);
+        }
+
+        int cols = grid.width();
+        int cells = grid.size();
+        byte[] maze = grid.cells();
+
+        visitedCells = clearVisited(visitedCells, cells);
+        if (stack == null) {
+            stack = new IntStack(Math.max(16, cols * 4));
+        } else {
+            stack.clear();
+        }
+
+        byte[] seen = visitedCells;
+        SolveMonitor watch = monitor;
+        stack.push(start);
+        seen[start] = FROM_START;
+        int visited = 1;
+        int expanded = 0;
+        int peak = 1;
+        boolean found = false;
+
+        while (!stack.isEmpty()) {
+            peak = Math.max(peak, stack.size());
+            int crt = stack.pop();
+            expanded++;
+            if (crt == goal) {
+                found = true;
+                break;
+            }
+
+            // mesma ordem da versão com Stack<MazePos>: o último empilhado (baixo) sai primeiro
+            int j = crt % cols;
+            int next;
+
+            //cima
+            next = crt - cols;
+            if (next >= 0 && seen[next] == 0 && MazeGrid.isClear(maze[next])) {
+                seen[next] = FROM_SOUTH;
+                visited++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                stack.push(next);
+            }
+            //direita
+            next = crt + 1;
+            if (j + 1 < cols && seen[next] == 0 && MazeGrid.isClear(maze[next])) {
+                seen[next] = FROM_WEST;
+                visited++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                stack.push(next);
+            }
+            //esquerda
+            next = crt - 1;
+            if (j > 0 && seen[next] == 0 && MazeGrid.isClear(maze[next])) {
+                seen[next] = FROM_EAST;
+                visited++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                stack.push(next);
+            }
+            //baixo
+            next = crt + cols;
+            if (next < cells && seen[next] == 0 && MazeGrid.isClear(maze[next])) {
+                seen[next] = FROM_NORTH;
+                visited++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                stack.push(next);
+            }
+        }
+
+        int[] path = found ? tracePath(seen, goal, cols) : null;
+        SolveResult result = new SolveResult(found, visited, seen, cols, path, System.nanoTime() - startTime);
+        return SolveMetrics.report(Algorithm.DFS.toString(), cells, result, expanded, peak, 4L * expanded, metrics);
+    }
+
+    // BFS bidirecional, do início ao objetivo da grade
+    public SolveResult solveBidirectional() {
+        return solveBidirectional(grid.start(), grid.goal());
+    }
+
+    // BFS bidirecional: uma fronteira parte do início e outra do objetivo; a cada passo expande
+    // um nível inteiro da fronteira menor e para quando as duas se encontram. Explora mais ou
+    // menos duas "bolas" de raio d/2 no lugar de uma de raio d.
+    public SolveResult solveBidirectional(int start, int goal) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (!canSearch(grid, start, goal)) {
+            return unreachable(Algorithm.BFS_BIDIRECTIONAL.toString(), grid, startTime, metrics);
+        }
+
+        int cells = grid.size();
+        visitedCells = clearVisited(visitedCells, cells);
+        visitedCellsBack = clearVisited(visitedCellsBack, cells);
+        queue = clearQueue(queue, cells);
+        queueBack = clearQueue(queueBack, cells);
+
+        byte[] seen = visitedCells;
+        byte[] seenBack = visitedCellsBack;
+        seen[start] = FROM_START;
+        seenBack[goal] = FROM_START;
+        queue.add(start);
+        queueBack.add(goal);
+        discovered = (start == goal) ? 1 : 2;
+        expanded = 0;
+        int peak = 2;
+
+        int meet = (start == goal) ? start : -1;
+        while (meet < 0 && !queue.isEmpty() && !queueBack.isEmpty()) {
+            peak = Math.max(peak, queue.size() + queueBack.size());
+            if (queue.size() <= queueBack.size()) {
+                meet = expandLevel(queue, seen, seenBack);
+            } else {
+                meet = expandLevel(queueBack, seenBack, seen);
+            }
+        }
+
+        boolean found = meet >= 0;
+        int[] path = null;
+        if (found) {
+            // início -> encontro pela busca da frente, encontro -> objetivo pela busca de trás
+            int[] head = tracePath(seen, meet, grid.width());
+            int[] tail = tracePath(seenBack, meet, grid.width());
+            path = new int[head.length + tail.length - 1];
+            System.arraycopy(head, 0, path, 0, head.length);
+            for (int k = 1; k < tail.length; k++) {
+                path[head.length - 1 + k] = tail[tail.length - 1 - k];
+            }
+        }
+        SolveResult result = new SolveResult(found, discovered, seen, seenBack, grid.width(), path,
+                System.nanoTime() - startTime);
+        return SolveMetrics.report(Algorithm.BFS_BIDIRECTIONAL.toString(), cells, result, expanded, peak,
+                4L * expanded, metrics);
+    }
+
+    // expande um nível inteiro da fila; retorna a célula onde encontrou a outra busca, ou -1
+    private int expandLevel(IntQueue level, byte[] mine, byte[] other) {
+        int cols = grid.width();
+        int cells = grid.size();
+        byte[] maze = grid.cells();
+        SolveMonitor watch = monitor;
+
+        for (int n = level.size(); n > 0; n--) {
+            int crt = level.poll();
+            expanded++;
+            int j = crt % cols;
+            int next;
+
+            //cima
+            next = crt - cols;
+            if (next >= 0 && mine[next] == 0 && MazeGrid.isClear(maze[next])) {
+                mine[next] = FROM_SOUTH;
+                discovered++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                if (other[next] != 0) {
+                    return next;
+                }
+                level.add(next);
+            }
+            //direita
+            next = crt + 1;
+            if (j + 1 < cols && mine[next] == 0 && MazeGrid.isClear(maze[next])) {
+                mine[next] = FROM_WEST;
+                discovered++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                if (other[next] != 0) {
+                    return next;
+                }
+                level.add(next);
+            }
+            //esquerda
+            next = crt - 1;
+            if (j > 0 && mine[next] == 0 && MazeGrid.isClear(maze[next])) {
+                mine[next] = FROM_EAST;
+                discovered++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                if (other[next] != 0) {
+                    return next;
+                }
+                level.add(next);
+            }
+            //baixo
+            next = crt + cols;
+            if (next < cells && mine[next] == 0 && MazeGrid.isClear(maze[next])) {
+                mine[next] = FROM_NORTH;
+                discovered++;
+                if (watch != null) {
+                    watch.discovered(next);
+                }
+                if (other[next] != 0) {
+                    return next;
+                }
+                level.add(next);
+            }
+        }
+        return -1;
+    }
+
+    // A* com heurística de Manhattan, do início ao objetivo da grade
+    public SolveResult solveAStar() {
+        return informed().solveAStar();
+    }
+
+    // Jump Point Search, do início ao objetivo da grade
+    public SolveResult solveJumpPoint() {
+        return informed().solveJumpPoint();
+    }
+
+    // Dijkstra com os custos das células, do início ao objetivo da grade
+    public SolveResult solveDijkstra() {
+        return weighted().solveDijkstra();
+    }
+
+    // BFS 0-1 (custos 0 ou 1), do início ao objetivo da grade
+    public SolveResult solveZeroOne() {
+        return weighted().solveZeroOne();
+    }
+
+    // BFS paralela por níveis (ForkJoinPool comum); grades pequenas usam solveQueuePacked
+    public SolveResult solveParallel() {
+        if (parallel == null) {
+            parallel = new ParallelBfs(this, ForkJoinPool.commonPool(), ParallelBfs.DEFAULT_THRESHOLD);
+            parallel.setMonitor(monitor);
+        }
+        return parallel.solve();
+    }
+
+    private WeightedSolver weighted() {
+        if (weighted == null) {
+            weighted = new WeightedSolver(grid);
+            weighted.setMonitor(monitor);
+        }
+        return weighted;
+    }
+
+    private AStarSolver informed() {
+        if (informed == null) {
+            informed = new AStarSolver(grid);
+            informed.setMonitor(monitor);
+        }
+        return informed;
+    }
+
+    // início e objetivo fora da grade são erro de quem chamou; numa parede a busca não alcança
+    // nada, como no BitGrid e no DistanceField (sem isso a célula seria expandida como livre)
+    static boolean canSearch(MazeGrid grid, int start, int goal) {
+        if (!grid.isInMaze(start) || !grid.isInMaze(goal)) {
+            throw new IllegalArgumentException("início ou objetivo fora do labirinto: " + start + ", " + goal);
+        }
+        return grid.isClear(start) && grid.isClear(goal);
+    }
+
+    // resultado de uma busca que nem começou (início ou objetivo bloqueado)
+    static SolveResult unreachable(String algorithm, MazeGrid grid, long startTime, long metrics) {
+        SolveResult result = new SolveResult(false, 0, null, grid.width(), null, System.nanoTime() - startTime);
+        return SolveMetrics.report(algorithm, grid.size(), result, 0, 0, 0, metrics);
+    }
+
+    // zera (ou cria) o array de visitados
+    private static byte[] clearVisited(byte[] visited, int cells) {
+        if (visited == null || visited.length != cells) {
+            return new byte[cells];
+        }
+        Arrays.fill(visited, (byte) 0);
+        return visited;
+    }
+
+    // esvazia (ou cria) a fila; começa pequena e cresce com a fronteira, em vez de reservar
+    // 4 bytes por célula (a fronteira de uma BFS na grade é bem menor que o labirinto)
+    private static IntQueue clearQueue(IntQueue q, int cells) {
+        if (q == null) {
+            return new IntQueue(Math.min(cells, 1 << 16));
+        }
+        q.clear();
+        return q;
+    }
+
+    // reconstruir o caminho mais curto seguindo as direções de chegada a partir do objetivo;
+    // custa O(tamanho do caminho), sem refazer a busca
+    static int[] tracePath(byte[] from, int goal, int width) {
+        int length = 1;
+        for (int crt = goal; from[crt] != FROM_START; crt = parent(from, crt, width)) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        int crt = goal;
+        for (int k = length - 1; k >= 0; k--) {
+            path[k] = crt;
+            if (k > 0) {
+                crt = parent(from, crt, width);
+            }
+        }
+        return path;
+    }
+
+    // célula de onde crt foi alcançada
+    static int parent(byte[] from, int crt, int width) {
+        return parent(from[crt], crt, width);
+    }
+
+    // célula de onde crt foi alcançada, dado o código de chegada dela
+    static int parent(byte from, int crt, int width) {
+        switch (from) {
+            case FROM_SOUTH:
+                return crt + width;
+            case FROM_WEST:
+                return crt - 1;
+            case FROM_EAST:
+                return crt + 1;
+            case FROM_NORTH:
+                return crt - width;
+            default:
+                throw new IllegalStateException("célula " + crt + " não foi visitada");
+        }
+    }
+
+}
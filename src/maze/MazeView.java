@@ -0,0 +1,285 @@
+package maze;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+// Desenho do labirinto para labirintos grandes. A grade fica em um BufferedImage com um
+// pixel por célula, escrito direto no int[] do raster; o paint só copia (e amplia) a parte
+// visível da imagem com um drawImage, em vez de um fillRect + drawRect por célula.
+// Como GridListener, cada célula alterada atualiza o seu pixel e entra em um retângulo sujo,
+// e só esse retângulo é redesenhado (um repaint por lote de mudanças, não por célula).
+//
+// Zoom com a roda do mouse (em volta do cursor), arrastar para mover e clique duplo para
+// caber inteiro na tela. As linhas azuis entre as células só aparecem com zoom suficiente.
+public class MazeView extends JComponent implements GridListener {
+
+    // tamanho da célula na tela (pixels) até onde o labirinto é ampliado ao caber na tela
+    public final static double DEFAULT_CELL_SIZE = 40;
+
+    // abaixo disso não desenha as linhas entre as células
+    private final static double GRID_LINES_MIN = 8;
+
+    private final static double MIN_SCALE = 1.0 / 64;
+    private final static double MAX_SCALE = 128;
+
+    private MazeGrid grid;
+    private BufferedImage image;   // um pixel por célula
+    private int[] pixels;          // raster do image
+
+    private double scale = DEFAULT_CELL_SIZE;   // pixels por célula
+    private double originX, originY;            // canto de cima da grade na tela
+    private boolean fitted;                     // já ajustou o zoom ao tamanho do componente
+
+    // células alteradas ainda não redesenhadas (linhas e colunas, inclusive)
+    private final Object dirtyLock = new Object();
+    private int dirtyTop, dirtyLeft, dirtyBottom = -1, dirtyRight = -1;
+    private boolean repaintPosted;
+
+    public MazeView(MazeGrid grid) {
+        setGrid(grid);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            private int lastX, lastY;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+                lastY = e.getY();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                originX += e.getX() - lastX;
+                originY += e.getY() - lastY;
+                lastX = e.getX();
+                lastY = e.getY();
+                repaint();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    fitToView();
+                }
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(Math.pow(1.25, -e.getPreciseWheelRotation()), e.getX(), e.getY());
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    // trocar a grade mostrada (a antiga deixa de ser acompanhada)
+    public void setGrid(MazeGrid grid) {
+        if (this.grid != null) {
+            this.grid.removeListener(this);
+        }
+        this.grid = grid;
+        image = new BufferedImage(grid.width(), grid.height(), BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        grid.addListener(this);
+        redrawAll();
+        fitted = false;
+        repaint();
+    }
+
+    public MazeGrid grid() { return grid; }
+
+    public double scale() { return scale; }
+
+    // ampliar (factor > 1) ou reduzir mantendo parada a célula sob (x, y)
+    public void zoom(double factor, int x, int y) {
+        double next = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        originX = x - (x - originX) * next / scale;
+        originY = y - (y - originY) * next / scale;
+        scale = next;
+        repaint();
+    }
+
+    // labirinto inteiro no centro, com no máximo DEFAULT_CELL_SIZE pixels por célula
+    public void fitToView() {
+        if (getWidth() == 0 || getHeight() == 0) {
+            return;
+        }
+        scale = Math.min(DEFAULT_CELL_SIZE,
+                Math.min((double) getWidth() / grid.width(), (double) getHeight() / grid.height()));
+        scale = Math.max(MIN_SCALE, scale);
+        originX = (getWidth() - grid.width() * scale) / 2;
+        originY = (getHeight() - grid.height() * scale) / 2;
+        fitted = true;
+        repaint();
+    }
+
+    // pinta as células com a cor do valor só na tela, sem mudar a grade (ex: a onda de uma
+    // busca em andamento); somem no próximo refresh() ou quando a célula mudar de verdade
+    public void highlight(int[] cells, int value) {
+        int rgb = color(value);
+        byte[] values = grid.cells();
+        for (int cell : cells) {
+            if (values[cell] == MazeGrid.C) {   // início e objetivo continuam com a cor deles
+                pixels[cell] = rgb;
+                markDirty(cell);
+            }
+        }
+    }
+
+    // volta a mostrar exatamente o que está na grade
+    public void refresh() {
+        gridReplaced(grid);
+    }
+
+    @Override
+    public void cellChanged(MazeGrid source, int index, int oldValue, int newValue) {
+        pixels[index] = color(newValue);
+        markDirty(index);
+    }
+
+    // junta a célula ao retângulo sujo e agenda o repaint, se ainda não houver um
+    private void markDirty(int index) {
+        int cols = grid.width();
+        int row = index / cols;
+        int col = index % cols;
+        synchronized (dirtyLock) {
+            if (dirtyBottom < 0) {
+                dirtyTop = dirtyBottom = row;
+                dirtyLeft = dirtyRight = col;
+            } else {
+                dirtyTop = Math.min(dirtyTop, row);
+                dirtyBottom = Math.max(dirtyBottom, row);
+                dirtyLeft = Math.min(dirtyLeft, col);
+                dirtyRight = Math.max(dirtyRight, col);
+            }
+            if (repaintPosted) {
+                return;
+            }
+            repaintPosted = true;
+        }
+        // junta todas as mudanças feitas até a fila de eventos rodar em um só repaint
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                repaintDirty();
+            }
+        });
+    }
+
+    @Override
+    public void gridReplaced(MazeGrid source) {
+        redrawAll();
+        synchronized (dirtyLock) {
+            dirtyBottom = -1;
+        }
+        repaint();
+    }
+
+    // redesenha na tela só o retângulo das células alteradas
+    private void repaintDirty() {
+        int top, left, bottom, right;
+        synchronized (dirtyLock) {
+            repaintPosted = false;
+            if (dirtyBottom < 0) {
+                return;
+            }
+            top = dirtyTop;
+            left = dirtyLeft;
+            bottom = dirtyBottom;
+            right = dirtyRight;
+            dirtyBottom = -1;
+        }
+        int x = (int) Math.floor(originX + left * scale);
+        int y = (int) Math.floor(originY + top * scale);
+        int w = (int) Math.ceil((right - left + 1) * scale) + 2;
+        int h = (int) Math.ceil((bottom - top + 1) * scale) + 2;
+        repaint(x, y, w, h);
+    }
+
+    // escreve a grade inteira no raster
+    private void redrawAll() {
+        byte[] cells = grid.cells();
+        for (int k = 0; k < pixels.length; k++) {
+            pixels[k] = color(cells[k]);
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        if (!fitted) {
+            fitToView();
+        }
+        Graphics2D g = (Graphics2D) graphics;
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        if (isOpaque()) {
+            g.setColor(getBackground());
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        }
+
+        // só as células que caem no retângulo a redesenhar
+        int col0 = Math.max(0, (int) Math.floor((clip.x - originX) / scale));
+        int row0 = Math.max(0, (int) Math.floor((clip.y - originY) / scale));
+        int col1 = Math.min(grid.width(), (int) Math.ceil((clip.x + clip.width - originX) / scale));
+        int row1 = Math.min(grid.height(), (int) Math.ceil((clip.y + clip.height - originY) / scale));
+        if (col0 >= col1 || row0 >= row1) {
+            return;
+        }
+
+        int x0 = screenX(col0);
+        int y0 = screenY(row0);
+        int x1 = screenX(col1);
+        int y1 = screenY(row1);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.drawImage(image, x0, y0, x1, y1, col0, row0, col1, row1, null);
+
+        if (scale >= GRID_LINES_MIN) {
+            g.setColor(Color.BLUE);
+            for (int row = row0; row <= row1; row++) {
+                g.drawLine(x0, screenY(row), x1, screenY(row));
+            }
+            for (int col = col0; col <= col1; col++) {
+                g.drawLine(screenX(col), y0, screenX(col), y1);
+            }
+        }
+    }
+
+    private int screenX(int col) {
+        return (int) Math.floor(originX + col * scale);
+    }
+
+    private int screenY(int row) {
+        return (int) Math.floor(originY + row * scale);
+    }
+
+    // cor de cada valor da grade (as mesmas do paint antigo)
+    static int color(int value) {
+        switch (value) {
+            case MazeGrid.X:
+                return 0x404040;   // parede (Color.darkGray)
+            case MazeGrid.E:
+                return 0xFF0000;   // objetivo (vermelho)
+            case MazeGrid.S:
+                return 0xFFFF00;   // início (amarelo)
+            case MazeGrid.V:
+                return 0x00FF00;   // células exploradas pela busca (verde)
+            case MazeGrid.P:
+                return 0x00FFFF;   // caminho mais curto (ciano)
+            default:
+                return 0xFFFFFF;   // caminho livre (branco)
+        }
+    }
+}
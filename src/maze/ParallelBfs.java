@@ -0,0 +1,229 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// BFS paralela síncrona por níveis: a fronteira de cada nível é dividida em blocos que são
+// expandidos em um ForkJoinPool. No lugar de escrever V na grade compartilhada, cada célula é
+// reivindicada com compareAndSet em um bitset atômico (AtomicLongArray), então só uma thread
+// grava a direção de chegada dela. Labirintos com menos células que o limite configurado
+// usam a BFS sequencial do MazeSolver, que nesse tamanho é mais rápida.
+// Uma instância não deve ser usada por duas buscas ao mesmo tempo.
+public class ParallelBfs {
+
+    // abaixo disso (em células) a busca é sequencial
+    public final static int DEFAULT_THRESHOLD = 1 << 20;
+
+    // quantidade de células da fronteira expandidas por tarefa
+    private final static int CHUNK = 4096;
+
+    private final MazeGrid grid;
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final MazeSolver sequential;
+
+    private AtomicLongArray visited;   // 1 bit por célula
+    private byte[] directions;         // direção de chegada (códigos FROM_* do MazeSolver)
+    private int[] frontier;
+    private int[] next;
+    private int[][] chunkOut = new int[0][];   // células descobertas por cada bloco
+    private int[] chunkCount = new int[0];
+    private SolveMonitor monitor;   // null = ninguém acompanhando
+
+    public ParallelBfs(MazeGrid grid) {
+        this(grid, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelBfs(MazeGrid grid, ForkJoinPool pool, int threshold) {
+        this(new MazeSolver(grid), pool, threshold);
+    }
+
+    // usa os buffers de um MazeSolver já existente quando a busca cai no modo sequencial
+    ParallelBfs(MazeSolver sequential, ForkJoinPool pool, int threshold) {
+        this.grid = sequential.grid();
+        this.pool = pool;
+        this.threshold = threshold;
+        this.sequential = sequential;
+    }
+
+    // recebe cada nível descoberto e pode cancelar a busca entre os níveis (ver SolveMonitor)
+    public void setMonitor(SolveMonitor monitor) {
+        this.monitor = monitor;
+        if (sequential.monitor() != monitor) {
+            sequential.setMonitor(monitor);   // grades pequenas caem no MazeSolver
+        }
+    }
+
+    public SolveResult solve() {
+        return solve(grid.start(), grid.goal());
+    }
+
+    public SolveResult solve(int start, int goal) {
+        if (grid.size() < threshold) {
+            return sequential.solveQueuePacked(start, goal);
+        }
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (!MazeSolver.canSearch(grid, start, goal)) {
+            return MazeSolver.unreachable(Algorithm.BFS_PARALLEL.toString(), grid, startTime, metrics);
+        }
+        prepare();
+
+        claim(start);
+        directions[start] = MazeSolver.FROM_START;
+        frontier[0] = start;
+        int size = 1;
+        int count = 1;
+        int expanded = 0;
+        int peak = 1;
+        boolean found = start == goal;
+
+        while (size > 0 && !found) {
+            expanded += size;   // o nível inteiro é expandido
+            peak = Math.max(peak, size);
+            int chunks = (size + CHUNK - 1) / CHUNK;
+            ensureChunks(chunks);
+            if (chunks == 1) {
+                expand(0, size);   // nível pequeno: não vale a pena criar tarefas
+            } else {
+                pool.invoke(new Level(0, chunks, size));
+            }
+
+            // juntar as saídas dos blocos na próxima fronteira
+            int total = 0;
+            for (int c = 0; c < chunks; c++) {
+                System.arraycopy(chunkOut[c], 0, next, total, chunkCount[c]);
+                total += chunkCount[c];
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            size = total;
+            count += total;
+            if (monitor != null) {
+                monitor.discovered(frontier, size);
+            }
+            found = isClaimed(goal);
+        }
+
+        int[] path = found ? MazeSolver.tracePath(directions, goal, grid.width()) : null;
+        SolveResult result = new SolveResult(found, count, directions, grid.width(), path,
+                System.nanoTime() - startTime);
+        return SolveMetrics.report(Algorithm.BFS_PARALLEL.toString(), grid.size(), result, expanded, peak,
+                4L * expanded, metrics);
+    }
+
+    // expande os blocos [from, to) da fronteira atual
+    private final class Level extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int size;
+
+        Level(int from, int to, int size) {
+            this.from = from;
+            this.to = to;
+            this.size = size;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                expand(from, size);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Level(from, mid, size), new Level(mid, to, size));
+        }
+    }
+
+    // expande o bloco c da fronteira (size = tamanho da fronteira)
+    private void expand(int c, int size) {
+        int cols = grid.width();
+        int cells = grid.size();
+        byte[] maze = grid.cells();
+        int[] out = chunkOut[c];
+        int n = 0;
+
+        for (int k = c * CHUNK, end = Math.min(size, k + CHUNK); k < end; k++) {
+            int crt = frontier[k];
+            int j = crt % cols;
+            int nb;
+
+            //cima
+            nb = crt - cols;
+            if (nb >= 0 && MazeGrid.isClear(maze[nb]) && claim(nb)) {
+                directions[nb] = MazeSolver.FROM_SOUTH;
+                out[n++] = nb;
+            }
+            //direita
+            nb = crt + 1;
+            if (j + 1 < cols && MazeGrid.isClear(maze[nb]) && claim(nb)) {
+                directions[nb] = MazeSolver.FROM_WEST;
+                out[n++] = nb;
+            }
+            //esquerda
+            nb = crt - 1;
+            if (j > 0 && MazeGrid.isClear(maze[nb]) && claim(nb)) {
+                directions[nb] = MazeSolver.FROM_EAST;
+                out[n++] = nb;
+            }
+            //baixo
+            nb = crt + cols;
+            if (nb < cells && MazeGrid.isClear(maze[nb]) && claim(nb)) {
+                directions[nb] = MazeSolver.FROM_NORTH;
+                out[n++] = nb;
+            }
+        }
+        chunkCount[c] = n;
+    }
+
+    // marca a célula como visitada; falso se outra thread chegou antes
+    private boolean claim(int cell) {
+        int w = cell >>> 6;
+        long bit = 1L << cell;
+        while (true) {
+            long old = visited.get(w);
+            if ((old & bit) != 0) {
+                return false;
+            }
+            if (visited.compareAndSet(w, old, old | bit)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean isClaimed(int cell) {
+        return (visited.get(cell >>> 6) & (1L << cell)) != 0;
+    }
+
+    private void ensureChunks(int chunks) {
+        if (chunkOut.length < chunks) {
+            int old = chunkOut.length;
+            chunkOut = Arrays.copyOf(chunkOut, chunks);
+            chunkCount = Arrays.copyOf(chunkCount, chunks);
+            for (int c = old; c < chunks; c++) {
+                chunkOut[c] = new int[4 * CHUNK];   // cada célula descobre no máximo 4 vizinhas
+            }
+        }
+    }
+
+    private void prepare() {
+        int cells = grid.size();
+        int words = (cells + 63) >>> 6;
+        if (visited == null || visited.length() != words || directions.length != cells) {
+            visited = new AtomicLongArray(words);
+            directions = new byte[cells];
+            frontier = new int[cells];
+            next = new int[cells];
+        } else {
+            for (int w = 0; w < words; w++) {
+                visited.lazySet(w, 0L);
+            }
+            Arrays.fill(directions, (byte) 0);
+        }
+    }
+
+}
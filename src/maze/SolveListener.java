@@ -0,0 +1,9 @@
+package maze;
+
+// Recebe as métricas de cada busca terminada (registrado em SolveMetrics). É chamado na
+// thread que fez a busca, logo depois dela, então deve ser rápido e thread-safe se houver
+// buscas em paralelo (BatchSolver, ParallelBfs).
+public interface SolveListener {
+
+    void solveFinished(SolveStats stats);
+}
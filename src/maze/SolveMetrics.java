@@ -0,0 +1,117 @@
+package maze;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+// Registro das métricas das buscas: os solvers chamam begin() antes e report() depois de
+// cada busca, e o report() repassa um SolveStats para os SolveListener registrados e grava
+// um SolveEvent no Flight Recorder, se ele estiver ligado. Sem ouvintes e com o evento
+// desligado, begin() retorna -1 e report() não faz nada além de devolver o resultado, então
+// as buscas não pagam pela medição (nem pela leitura do ThreadMXBean).
+//
+// O JFR fica todo no SolveEvents (src-jfr, compilado à parte para Java 11), carregado por
+// nome só se a JVM tiver o módulo jdk.jfr e a classe estiver no classpath.
+public class SolveMetrics {
+
+    // trocado inteiro a cada add/remove, então report() lê sem trava
+    private static volatile SolveListener[] listeners = new SolveListener[0];
+
+    // eventos do Flight Recorder, ou null se a JVM não tem o JFR (ou o jar veio sem src-jfr)
+    private final static SolveRecorder JFR = jfrRecorder();
+
+    // bytes alocados por thread (HotSpot); null se a JVM não suporta
+    private final static com.sun.management.ThreadMXBean ALLOCATION = allocationBean();
+
+    private SolveMetrics() {
+    }
+
+    public static synchronized void addListener(SolveListener listener) {
+        SolveListener[] old = listeners;
+        SolveListener[] grown = Arrays.copyOf(old, old.length + 1);
+        grown[old.length] = listener;
+        listeners = grown;
+    }
+
+    public static synchronized void removeListener(SolveListener listener) {
+        SolveListener[] old = listeners;
+        for (int k = 0; k < old.length; k++) {
+            if (old[k] == listener) {
+                SolveListener[] shrunk = new SolveListener[old.length - 1];
+                System.arraycopy(old, 0, shrunk, 0, k);
+                System.arraycopy(old, k + 1, shrunk, k, old.length - k - 1);
+                listeners = shrunk;
+                return;
+            }
+        }
+    }
+
+    // alguém quer as métricas?
+    public static boolean isEnabled() {
+        return listeners.length > 0 || (JFR != null && JFR.isEnabled());
+    }
+
+    // chamado no começo da busca: bytes já alocados pela thread, 0 se a JVM não informa,
+    // ou -1 se ninguém está ouvindo (aí report() não mede nada)
+    static long begin() {
+        if (!isEnabled()) {
+            return -1;
+        }
+        return ALLOCATION == null ? 0 : ALLOCATION.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // chamado no fim da busca com os contadores dela; devolve o próprio resultado
+    static SolveResult report(String algorithm, int cells, SolveResult result, int expanded, int peakFrontier,
+                              long edgesInspected, long begin) {
+        report(algorithm, cells, result.found(), result.pathLength(), result.elapsedNanos(), expanded, peakFrontier,
+                edgesInspected, begin);
+        return result;
+    }
+
+    // o mesmo para as buscas que não montam um SolveResult (alcance, distância, campo de
+    // distâncias); pathLength em passos, -1 se não achou
+    static void report(String algorithm, int cells, boolean found, int pathLength, long elapsedNanos,
+                       int expanded, int peakFrontier, long edgesInspected, long begin) {
+        if (begin < 0) {
+            return;
+        }
+        long allocated = ALLOCATION == null ? -1
+                : ALLOCATION.getThreadAllocatedBytes(Thread.currentThread().getId()) - begin;
+        SolveStats stats = new SolveStats(algorithm, cells, found, expanded, peakFrontier,
+                edgesInspected, pathLength, elapsedNanos, allocated);
+
+        if (JFR != null) {
+            JFR.record(stats);
+        }
+        for (SolveListener listener : listeners) {
+            listener.solveFinished(stats);
+        }
+    }
+
+    private static SolveRecorder jfrRecorder() {
+        ClassLoader loader = SolveMetrics.class.getClassLoader();
+        try {
+            Class.forName("jdk.jfr.Event", false, loader);
+            return (SolveRecorder) Class.forName("maze.SolveEvents", true, loader)
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;   // sem JFR: só os SolveListener recebem as métricas
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+                if (hotspot.isThreadAllocatedMemorySupported()) {
+                    hotspot.setThreadAllocatedMemoryEnabled(true);
+                    return hotspot;
+                }
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // sem medição de alocação
+        }
+        return null;
+    }
+}
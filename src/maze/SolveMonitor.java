@@ -0,0 +1,71 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+// Acompanha uma busca rodando em outra thread (ex: SwingWorker da interface). O solver avisa
+// cada célula descoberta; elas são juntadas em um buffer de int e entregues a publish() no
+// máximo uma vez a cada intervalo, então a interface pode animar a onda da busca sem receber
+// uma chamada por célula. cancel() faz a busca parar lançando CancellationException na
+// próxima verificação (a cada CHECK células descobertas).
+//
+// discovered() é chamado só pela thread da busca; cancel() pode vir de qualquer thread.
+public abstract class SolveMonitor {
+
+    // de quantas em quantas células verifica o cancelamento e o relógio
+    private final static int CHECK = 1024;
+
+    private final long intervalNanos;
+    private int[] batch = new int[CHECK];
+    private int size;
+    private long lastPublish;
+    private volatile boolean cancelled;
+
+    // intervalo mínimo entre duas chamadas de publish()
+    protected SolveMonitor(long intervalMillis) {
+        this.intervalNanos = intervalMillis * 1000000L;
+        this.lastPublish = System.nanoTime();
+    }
+
+    // recebe as células descobertas desde a última chamada (o array é novo a cada vez)
+    protected abstract void publish(int[] cells);
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() { return cancelled; }
+
+    // chamado pelo solver para cada célula descoberta
+    final void discovered(int cell) {
+        if (size == batch.length) {
+            batch = Arrays.copyOf(batch, batch.length * 2);
+        }
+        batch[size++] = cell;
+        if (size % CHECK == 0) {
+            checkpoint();
+        }
+    }
+
+    // um nível inteiro descoberto de uma vez (BFS paralela)
+    final void discovered(int[] cells, int count) {
+        if (size + count > batch.length) {
+            batch = Arrays.copyOf(batch, Math.max(batch.length * 2, size + count));
+        }
+        System.arraycopy(cells, 0, batch, size, count);
+        size += count;
+        checkpoint();
+    }
+
+    private void checkpoint() {
+        if (cancelled) {
+            throw new CancellationException("busca cancelada");
+        }
+        long now = System.nanoTime();
+        if (now - lastPublish >= intervalNanos) {
+            publish(Arrays.copyOf(batch, size));
+            size = 0;
+            lastPublish = now;
+        }
+    }
+}
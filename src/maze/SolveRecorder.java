@@ -0,0 +1,12 @@
+package maze;
+
+// Destino das métricas fora dos SolveListener: o Flight Recorder (SolveEvents, em src-jfr).
+// A implementação é compilada à parte, para Java 11+, e carregada por nome pelo
+// SolveMetrics; o resto do projeto continua compilando para Java 8 sem o módulo jdk.jfr.
+interface SolveRecorder {
+
+    // alguma gravação quer as métricas?
+    boolean isEnabled();
+
+    void record(SolveStats stats);
+}
@@ -0,0 +1,73 @@
+package maze;
+
+// Resultado de uma busca no labirinto, sem nenhuma dependência de interface gráfica.
+public class SolveResult {
+
+    private final boolean found;         // a saída foi alcançada?
+    private final int visitedCount;      // quantidade de células exploradas
+    private final byte[] visitedCells;   // células exploradas (i * largura + j), usadas para pintar de verde (ou null)
+    private final byte[] visitedBack;    // células exploradas a partir do objetivo (só na BFS bidirecional)
+    private final int width;             // largura usada para compactar os índices
+    private final int[] path;            // caminho mais curto, do início ao objetivo (null se não achou)
+    private final long pathCost;         // soma dos custos das células do caminho (sem contar o início)
+    private final long elapsedNanos;     // tempo gasto na busca
+
+    // no modo compactado o array de visitados pertence ao solver e vale até a próxima busca
+    public SolveResult(boolean found, int visitedCount, byte[] visitedCells, int width, int[] path,
+                       long elapsedNanos) {
+        this(found, visitedCount, visitedCells, null, width, path, elapsedNanos);
+    }
+
+    public SolveResult(boolean found, int visitedCount, byte[] visitedCells, byte[] visitedBack, int width,
+                       int[] path, long elapsedNanos) {
+        this(found, visitedCount, visitedCells, visitedBack, width, path,
+                path == null ? -1 : path.length - 1, elapsedNanos);
+    }
+
+    // resultado de uma busca com custos (Dijkstra, BFS 0-1)
+    public SolveResult(boolean found, int visitedCount, byte[] visitedCells, byte[] visitedBack, int width,
+                       int[] path, long pathCost, long elapsedNanos) {
+        this.found = found;
+        this.visitedCount = visitedCount;
+        this.visitedCells = visitedCells;
+        this.visitedBack = visitedBack;
+        this.width = width;
+        this.path = path;
+        this.pathCost = pathCost;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public boolean found() { return found; }
+
+    public int visitedCount() { return visitedCount; }
+
+    public byte[] visitedCells() { return visitedCells; }
+
+    // retornar verdadeiro se a célula foi explorada
+    public boolean isExplored(int index) {
+        if (visitedCells == null) {
+            return false;   // busca sem array de visitados no heap (ex: MappedMazeSolver)
+        }
+        return visitedCells[index] != 0 || (visitedBack != null && visitedBack[index] != 0);
+    }
+
+    public boolean isExplored(int i, int j) {
+        return isExplored(i * width + j);
+    }
+
+    // índices das células do caminho (i * largura + j), incluindo início e objetivo
+    public int[] path() { return path; }
+
+    // quantidade de passos do caminho (-1 se não achou a saída)
+    public int pathLength() { return path == null ? -1 : path.length - 1; }
+
+    // custo total do caminho (igual ao tamanho quando todas as células custam 1; -1 se não achou)
+    public long pathCost() { return pathCost; }
+
+    public long elapsedNanos() { return elapsedNanos; }
+
+    @Override
+    public String toString() {
+        return "SolveResult[found=" + found + ", visited=" + visitedCount + ", path=" + pathLength() + ", nanos=" + elapsedNanos + "]";
+    }
+}
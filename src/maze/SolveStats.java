@@ -0,0 +1,53 @@
+package maze;
+
+// Métricas de uma busca: o que o SolveResult não diz sobre o trabalho feito.
+public class SolveStats {
+
+    private final String algorithm;      // nome do algoritmo (o mesmo do Algorithm, quando existe)
+    private final int cells;             // tamanho da grade
+    private final boolean found;
+    private final int expanded;          // células retiradas da fronteira e expandidas
+    private final int peakFrontier;      // maior tamanho da fila/heap durante a busca
+    private final long edgesInspected;   // vizinhos testados (células percorridas nos saltos da JPS)
+    private final int pathLength;        // -1 se não achou
+    private final long elapsedNanos;
+    private final long allocatedBytes;   // bytes alocados pela thread durante a busca (-1 = JVM não informa)
+
+    public SolveStats(String algorithm, int cells, boolean found, int expanded, int peakFrontier,
+                      long edgesInspected, int pathLength, long elapsedNanos, long allocatedBytes) {
+        this.algorithm = algorithm;
+        this.cells = cells;
+        this.found = found;
+        this.expanded = expanded;
+        this.peakFrontier = peakFrontier;
+        this.edgesInspected = edgesInspected;
+        this.pathLength = pathLength;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public String algorithm() { return algorithm; }
+
+    public int cells() { return cells; }
+
+    public boolean found() { return found; }
+
+    public int expanded() { return expanded; }
+
+    public int peakFrontier() { return peakFrontier; }
+
+    public long edgesInspected() { return edgesInspected; }
+
+    public int pathLength() { return pathLength; }
+
+    public long elapsedNanos() { return elapsedNanos; }
+
+    public long allocatedBytes() { return allocatedBytes; }
+
+    @Override
+    public String toString() {
+        return "SolveStats[" + algorithm + ", cells=" + cells + ", found=" + found + ", expanded=" + expanded
+                + ", peakFrontier=" + peakFrontier + ", edges=" + edgesInspected + ", path=" + pathLength
+                + ", nanos=" + elapsedNanos + ", allocated=" + allocatedBytes + "]";
+    }
+}
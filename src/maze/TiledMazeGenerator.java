@@ -0,0 +1,142 @@
+package maze;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Gerador de labirintos perfeitos em blocos, em paralelo. As salas são divididas em blocos
+// de tileRooms x tileRooms; cada bloco é gerado com a DFS do MazeGenerator em uma tarefa do
+// ForkJoinPool, com a sua própria semente. Depois os blocos são costurados: uma árvore
+// geradora aleatória sobre os blocos (Kruskal) escolhe quais blocos vizinhos se ligam, e
+// cada ligação abre uma única passagem na borda. Árvore de árvores continua sendo árvore,
+// então o labirinto é perfeito e sempre tem saída.
+//
+// As sementes dos blocos e da costura saem da semente principal, em ordem, antes das
+// tarefas começarem; o resultado só depende de (semente, largura, altura, tileRooms),
+// nunca da quantidade de threads ou da ordem em que os blocos terminam.
+public class TiledMazeGenerator {
+
+    // salas por lado de cada bloco
+    public final static int DEFAULT_TILE_ROOMS = 256;
+
+    private TiledMazeGenerator() {
+    }
+
+    public static MazeGrid generate(int width, int height, long seed) {
+        return generate(width, height, seed, DEFAULT_TILE_ROOMS, ForkJoinPool.commonPool());
+    }
+
+    public static MazeGrid generate(int width, int height, long seed, int tileRooms, ForkJoinPool pool) {
+        if (tileRooms < 1) {
+            throw new IllegalArgumentException("bloco inválido: " + tileRooms);
+        }
+        MazeGrid grid = MazeGenerator.walls(width, height);
+        int roomsX = MazeGenerator.roomsX(width);
+        int roomsY = MazeGenerator.roomsY(height);
+        int tilesX = (roomsX + tileRooms - 1) / tileRooms;
+        int tilesY = (roomsY + tileRooms - 1) / tileRooms;
+        int tiles = tilesX * tilesY;
+
+        SplittableRandom root = new SplittableRandom(seed);
+        long[] seeds = new long[tiles];
+        for (int t = 0; t < tiles; t++) {
+            seeds[t] = root.nextLong();
+        }
+        SplittableRandom stitch = new SplittableRandom(root.nextLong());
+
+        // cada bloco só escreve nas suas salas e nas paredes internas dele
+        pool.invoke(new Tiles(grid.cells(), width, roomsX, roomsY, tileRooms, tilesX, seeds, 0, tiles));
+        stitch(grid.cells(), width, roomsX, roomsY, tileRooms, tilesX, tilesY, stitch);
+        return MazeGenerator.finish(grid);
+    }
+
+    // gera os blocos [from, to), dividindo ao meio até sobrar um
+    private static final class Tiles extends RecursiveAction {
+
+        private final byte[] cells;
+        private final int width, roomsX, roomsY, tileRooms, tilesX;
+        private final long[] seeds;
+        private final int from, to;
+
+        Tiles(byte[] cells, int width, int roomsX, int roomsY, int tileRooms, int tilesX,
+              long[] seeds, int from, int to) {
+            this.cells = cells;
+            this.width = width;
+            this.roomsX = roomsX;
+            this.roomsY = roomsY;
+            this.tileRooms = tileRooms;
+            this.tilesX = tilesX;
+            this.seeds = seeds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int rx0 = (from % tilesX) * tileRooms;
+                int ry0 = (from / tilesX) * tileRooms;
+                MazeGenerator.carveBacktracker(cells, width, rx0, ry0,
+                        Math.min(rx0 + tileRooms, roomsX), Math.min(ry0 + tileRooms, roomsY),
+                        new SplittableRandom(seeds[from]));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Tiles(cells, width, roomsX, roomsY, tileRooms, tilesX, seeds, from, mid),
+                    new Tiles(cells, width, roomsX, roomsY, tileRooms, tilesX, seeds, mid, to));
+        }
+    }
+
+    // árvore geradora aleatória sobre os blocos; cada aresta abre uma passagem na borda
+    private static void stitch(byte[] cells, int width, int roomsX, int roomsY, int tileRooms,
+                               int tilesX, int tilesY, SplittableRandom rnd) {
+        int tiles = tilesX * tilesY;
+        // bordas entre blocos: 2 * bloco (com o da direita) e 2 * bloco + 1 (com o de baixo)
+        int[] edges = new int[2 * tiles];
+        int m = 0;
+        for (int t = 0; t < tiles; t++) {
+            if (t % tilesX + 1 < tilesX) {
+                edges[m++] = 2 * t;
+            }
+            if (t / tilesX + 1 < tilesY) {
+                edges[m++] = 2 * t + 1;
+            }
+        }
+        for (int k = m - 1; k > 0; k--) {
+            int r = rnd.nextInt(k + 1);
+            int tmp = edges[k];
+            edges[k] = edges[r];
+            edges[r] = tmp;
+        }
+
+        int[] parent = new int[tiles];
+        for (int t = 0; t < tiles; t++) {
+            parent[t] = t;
+        }
+        for (int k = 0; k < m; k++) {
+            int t = edges[k] >>> 1;
+            boolean right = (edges[k] & 1) == 0;
+            int other = right ? t + 1 : t + tilesX;
+            int ra = MazeGenerator.find(parent, t);
+            int rb = MazeGenerator.find(parent, other);
+            if (ra == rb) {
+                continue;
+            }
+            parent[rb] = ra;
+
+            int rx0 = (t % tilesX) * tileRooms;
+            int ry0 = (t / tilesX) * tileRooms;
+            if (right) {
+                // última coluna de salas do bloco, linha ao acaso
+                int rx = rx0 + tileRooms - 1;
+                int ry = ry0 + rnd.nextInt(Math.min(ry0 + tileRooms, roomsY) - ry0);
+                cells[MazeGenerator.cellOf(rx, ry, width) + 1] = MazeGrid.C;
+            } else {
+                // última linha de salas do bloco, coluna ao acaso
+                int ry = ry0 + tileRooms - 1;
+                int rx = rx0 + rnd.nextInt(Math.min(rx0 + tileRooms, roomsX) - rx0);
+                cells[MazeGenerator.cellOf(rx, ry, width) + width] = MazeGrid.C;
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package maze;
+
+import java.util.Arrays;
+
+// Buscas com custo por célula (terreno): Dijkstra com heap indexado de primitivos e,
+// quando todos os custos são 0 ou 1, BFS 0-1 com deque de int. O custo de um passo é o
+// custo da célula onde se entra (MazeGrid.cost); sem custos definidos, tudo custa 1.
+// Reaproveita os buffers entre buscas e não é thread-safe.
+public class WeightedSolver {
+
+    private final MazeGrid grid;
+
+    private byte[] visitedCells;   // direção de chegada (mesmos códigos do MazeSolver), 0 = não visitada
+    private long[] dist;           // menor custo conhecido até cada célula visitada
+    private IntMinHeap open;       // fronteira do Dijkstra
+    private IntQueue deque;        // fronteira da BFS 0-1
+    private SolveMonitor monitor;  // null = ninguém acompanhando
+
+    public WeightedSolver(MazeGrid grid) {
+        this.grid = grid;
+    }
+
+    // recebe as células descobertas e pode cancelar a busca (ver SolveMonitor)
+    public void setMonitor(SolveMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    public SolveResult solveDijkstra() {
+        return solveDijkstra(grid.start(), grid.goal());
+    }
+
+    // Dijkstra: cada célula fica no heap no máximo uma vez (decrease-key no IntMinHeap)
+    public SolveResult solveDijkstra(int start, int goal) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (!MazeSolver.canSearch(grid, start, goal)) {
+            return MazeSolver.unreachable(Algorithm.DIJKSTRA.toString(), grid, startTime, metrics);
+        }
+        prepare();
+        if (open == null || open.cells() != grid.size()) {
+            open = new IntMinHeap(grid.size());
+        } else {
+            open.clear();
+        }
+
+        int cols = grid.width();
+        int cells = grid.size();
+        byte[] maze = grid.cells();
+        int[] costs = grid.costs();
+        byte[] seen = visitedCells;
+
+        seen[start] = MazeSolver.FROM_START;
+        dist[start] = 0;
+        open.offer(start, 0);
+        int visited = 1;
+        int expanded = 0;
+        int peak = 1;
+        boolean found = false;
+
+        while (!open.isEmpty()) {
+            peak = Math.max(peak, open.size());
+            int crt = open.poll();
+            expanded++;
+            if (crt == goal) {
+                found = true;
+                break;
+            }
+
+            int j = crt % cols;
+            long d = dist[crt];
+            int next;
+
+            //cima
+            next = crt - cols;
+            if (next >= 0 && MazeGrid.isClear(maze[next])) {
+                visited += relax(next, d + cost(costs, next), MazeSolver.FROM_SOUTH);
+            }
+            //direita
+            next = crt + 1;
+            if (j + 1 < cols && MazeGrid.isClear(maze[next])) {
+                visited += relax(next, d + cost(costs, next), MazeSolver.FROM_WEST);
+            }
+            //esquerda
+            next = crt - 1;
+            if (j > 0 && MazeGrid.isClear(maze[next])) {
+                visited += relax(next, d + cost(costs, next), MazeSolver.FROM_EAST);
+            }
+            //baixo
+            next = crt + cols;
+            if (next < cells && MazeGrid.isClear(maze[next])) {
+                visited += relax(next, d + cost(costs, next), MazeSolver.FROM_NORTH);
+            }
+        }
+
+        int[] path = found ? MazeSolver.tracePath(seen, goal, cols) : null;
+        SolveResult result = new SolveResult(found, visited, seen, null, cols, path, found ? dist[goal] : -1,
+                System.nanoTime() - startTime);
+        return SolveMetrics.report(Algorithm.DIJKSTRA.toString(), cells, result, expanded, peak, 4L * expanded,
+                metrics);
+    }
+
+    // atualiza a célula se o novo custo for menor; retorna 1 se ela foi descoberta agora
+    private int relax(int next, long d, byte from) {
+        if (visitedCells[next] != 0 && d >= dist[next]) {
+            return 0;
+        }
+        int discovered = visitedCells[next] == 0 ? 1 : 0;
+        if (discovered == 1 && monitor != null) {
+            monitor.discovered(next);
+        }
+        visitedCells[next] = from;
+        dist[next] = d;
+        open.offer(next, d);
+        return discovered;
+    }
+
+    public SolveResult solveZeroOne() {
+        return solveZeroOne(grid.start(), grid.goal());
+    }
+
+    // BFS 0-1: para custos só 0 ou 1 basta um deque; entrar em célula de custo 0 vai para o
+    // começo, custo 1 vai para o fim. O(células), sem heap. Lança IllegalArgumentException
+    // se encontrar um custo diferente de 0 e 1.
+    public SolveResult solveZeroOne(int start, int goal) {
+        long metrics = SolveMetrics.begin();
+        long startTime = System.nanoTime();
+        if (!MazeSolver.canSearch(grid, start, goal)) {
+            return MazeSolver.unreachable(Algorithm.ZERO_ONE_BFS.toString(), grid, startTime, metrics);
+        }
+        prepare();
+        if (deque == null) {
+            deque = new IntQueue(grid.width() * 4);
+        } else {
+            deque.clear();
+        }
+
+        int cols = grid.width();
+        int cells = grid.size();
+        byte[] maze = grid.cells();
+        int[] costs = grid.costs();
+        byte[] seen = visitedCells;
+
+        seen[start] = MazeSolver.FROM_START;
+        dist[start] = 0;
+        deque.add(start);
+        int visited = 1;
+        int expanded = 0;
+        int peak = 1;
+
+        // uma célula pode entrar duas vezes no deque; a segunda retirada não melhora nada
+        while (!deque.isEmpty()) {
+            peak = Math.max(peak, deque.size());
+            int crt = deque.poll();
+            expanded++;
+            if (crt == goal) {
+                break;
+            }
+
+            int j = crt % cols;
+            long d = dist[crt];
+            int next;
+
+            //cima
+            next = crt - cols;
+            if (next >= 0 && MazeGrid.isClear(maze[next])) {
+                visited += relaxZeroOne(next, d, costs, MazeSolver.FROM_SOUTH);
+            }
+            //direita
+            next = crt + 1;
+            if (j + 1 < cols && MazeGrid.isClear(maze[next])) {
+                visited += relaxZeroOne(next, d, costs, MazeSolver.FROM_WEST);
+            }
+            //esquerda
+            next = crt - 1;
+            if (j > 0 && MazeGrid.isClear(maze[next])) {
+                visited += relaxZeroOne(next, d, costs, MazeSolver.FROM_EAST);
+            }
+            //baixo
+            next = crt + cols;
+            if (next < cells && MazeGrid.isClear(maze[next])) {
+                visited += relaxZeroOne(next, d, costs, MazeSolver.FROM_NORTH);
+            }
+        }
+
+        boolean found = seen[goal] != 0;
+        int[] path = found ? MazeSolver.tracePath(seen, goal, cols) : null;
+        SolveResult result = new SolveResult(found, visited, seen, null, cols, path, found ? dist[goal] : -1,
+                System.nanoTime() - startTime);
+        return SolveMetrics.report(Algorithm.ZERO_ONE_BFS.toString(), cells, result, expanded, peak, 4L * expanded,
+                metrics);
+    }
+
+    private int relaxZeroOne(int next, long d, int[] costs, byte from) {
+        int c = cost(costs, next);
+        if (c > 1) {
+            throw new IllegalArgumentException("BFS 0-1 só aceita custos 0 e 1, célula " + next + " custa " + c);
+        }
+        long nd = d + c;
+        if (visitedCells[next] != 0 && nd >= dist[next]) {
+            return 0;
+        }
+        int discovered = visitedCells[next] == 0 ? 1 : 0;
+        if (discovered == 1 && monitor != null) {
+            monitor.discovered(next);
+        }
+        visitedCells[next] = from;
+        dist[next] = nd;
+        if (c == 0) {
+            deque.addFirst(next);
+        } else {
+            deque.add(next);
+        }
+        return discovered;
+    }
+
+    // zera os buffers comuns às duas buscas
+    private void prepare() {
+        int cells = grid.size();
+        if (visitedCells == null || visitedCells.length != cells) {
+            visitedCells = new byte[cells];
+            dist = new long[cells];
+        } else {
+            Arrays.fill(visitedCells, (byte) 0);
+        }
+    }
+
+    private static int cost(int[] costs, int index) {
+        return costs == null ? 1 : costs[index];
+    }
+
+}
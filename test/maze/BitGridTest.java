@@ -0,0 +1,93 @@
+package maze;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+// O BitGrid anda 64 células por operação: o isReachable espalha cada linha com uma soma com
+// vai-um que atravessa as palavras, e o distance desloca a fronteira entre palavras vizinhas.
+// Os erros aparecem nas pontas das palavras, por isso as larguras em volta de 64 e 128.
+public class BitGridTest {
+
+    private final static int[] WIDTHS = {1, 2, 63, 64, 65, 127, 128, 129, 200};
+
+    @Test
+    public void agreesWithBfsOnRandomGrids() {
+        SplittableRandom rnd = new SplittableRandom(10L);
+        for (int t = 0; t < 600; t++) {
+            int width = WIDTHS[rnd.nextInt(WIDTHS.length)];
+            int height = 1 + rnd.nextInt(t % 3 == 0 ? 2 : 40);   // inclui grades de uma linha
+            // densidades baixas deixam trechos livres longos, que passam de uma palavra à outra
+            double density = t % 4 == 0 ? rnd.nextDouble() * 0.1 : rnd.nextDouble() * 0.45;
+            MazeGrid grid = TestGrids.random(rnd, width, height, density);
+            BitGrid bits = BitGrid.fromGrid(grid);
+            MazeSolver bfs = new MazeSolver(grid);
+            for (int q = 0; q < 10; q++) {
+                check("grade " + t + " consulta " + q, grid, bits, bfs, rnd);
+            }
+        }
+    }
+
+    // setFree entre as consultas, nas duas grades ao mesmo tempo; os buffers são reaproveitados
+    @Test
+    public void agreesWithBfsAfterSetFree() {
+        SplittableRandom rnd = new SplittableRandom(1010L);
+        for (int t = 0; t < 60; t++) {
+            int width = WIDTHS[rnd.nextInt(WIDTHS.length)];
+            int height = 1 + rnd.nextInt(30);
+            MazeGrid grid = TestGrids.random(rnd, width, height, rnd.nextDouble() * 0.4);
+            BitGrid bits = BitGrid.fromGrid(grid);
+            MazeSolver bfs = new MazeSolver(grid);
+            for (int round = 0; round < 30; round++) {
+                int changes = 1 + rnd.nextInt(6);
+                for (int c = 0; c < changes; c++) {
+                    int cell = rnd.nextInt(grid.size());
+                    boolean free = grid.get(cell) == MazeGrid.X;
+                    grid.set(cell, free ? MazeGrid.C : MazeGrid.X);
+                    bits.setFree(cell / width, cell % width, free);
+                }
+                for (int q = 0; q < 4; q++) {
+                    check("grade " + t + " rodada " + round + " consulta " + q, grid, bits, bfs, rnd);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void wallEndpointsAreUnreachable() {
+        MazeGrid grid = new MazeGrid(65, 3);
+        grid.set(1, 64, MazeGrid.X);
+        BitGrid bits = BitGrid.fromGrid(grid);
+        assertFalse("objetivo na parede", bits.isReachable(0, 0, 1, 64));
+        assertEquals("objetivo na parede", -1, bits.distance(0, 0, 1, 64));
+        assertFalse("início na parede", bits.isReachable(1, 64, 0, 0));
+        assertEquals("início na parede", -1, bits.distance(1, 64, 0, 0));
+    }
+
+    private static void check(String message, MazeGrid grid, BitGrid bits, MazeSolver bfs, SplittableRandom rnd) {
+        if (!hasFreeCell(grid)) {
+            return;
+        }
+        int start = TestGrids.freeCell(rnd, grid);
+        int goal = TestGrids.freeCell(rnd, grid);
+        int cols = grid.width();
+        message += " (" + grid.width() + "x" + grid.height() + ", " + start + " -> " + goal + ")";
+
+        SolveResult expected = bfs.solveQueuePacked(start, goal);
+        assertEquals(message + ": isReachable", expected.found(),
+                bits.isReachable(start / cols, start % cols, goal / cols, goal % cols));
+        assertEquals(message + ": distance", expected.pathLength(),
+                bits.distance(start / cols, start % cols, goal / cols, goal % cols));
+    }
+
+    private static boolean hasFreeCell(MazeGrid grid) {
+        for (int k = 0; k < grid.size(); k++) {
+            if (grid.isClear(k)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,79 @@
+package maze;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// O D* Lite reaproveita a busca anterior depois de cada mudança de parede (ou de marca V/P);
+// depois de cada plan() o caminho tem que ser tão curto quanto o de uma BFS feita do zero.
+public class DStarLiteTest {
+
+    @Test
+    public void replansMatchFreshBfsAfterWallEdits() {
+        SplittableRandom rnd = new SplittableRandom(16L);
+        for (int t = 0; t < 150; t++) {
+            int width = 2 + rnd.nextInt(30);
+            int height = 2 + rnd.nextInt(30);
+            MazeGrid grid = TestGrids.random(rnd, width, height, rnd.nextDouble() * 0.4);
+            int start = rnd.nextInt(grid.size());
+            int goal = rnd.nextInt(grid.size());
+            grid.set(start, MazeGrid.C);
+            grid.set(goal, MazeGrid.C);
+
+            DStarLite planner = DStarLite.attach(grid, start, goal);
+            check("grade " + t + " inicial", grid, planner);
+
+            for (int edit = 0; edit < 40; edit++) {
+                // alterna algumas células entre livre e X/V/P (nunca o agente nem o objetivo)
+                // e replaneja
+                int changes = 1 + rnd.nextInt(4);
+                for (int c = 0; c < changes; c++) {
+                    int cell = rnd.nextInt(grid.size());
+                    if (cell != planner.start() && cell != goal) {
+                        TestGrids.toggle(rnd, grid, cell);
+                    }
+                }
+                assertTrue("mudanças pendentes", planner.pendingChanges() <= changes);
+                SolveResult plan = check("grade " + t + " edição " + edit, grid, planner);
+
+                // às vezes o agente anda um passo pelo caminho planejado
+                if (plan.found() && plan.path().length > 1 && rnd.nextBoolean()) {
+                    planner.moveTo(plan.path()[1]);
+                }
+            }
+            planner.detach();
+        }
+    }
+
+    @Test
+    public void replacedGridStartsOver() {
+        SplittableRandom rnd = new SplittableRandom(3L);
+        MazeGrid grid = TestGrids.random(rnd, 40, 30, 0.25);
+        int start = TestGrids.freeCell(rnd, grid);
+        int goal = TestGrids.freeCell(rnd, grid);
+        DStarLite planner = DStarLite.attach(grid, start, goal);
+        check("inicial", grid, planner);
+
+        MazeGrid other = TestGrids.random(rnd, 40, 30, 0.25);
+        other.set(start, MazeGrid.C);
+        other.set(goal, MazeGrid.C);
+        grid.copyFrom(other);
+        check("depois do copyFrom", grid, planner);
+        planner.detach();
+    }
+
+    private static SolveResult check(String message, MazeGrid grid, DStarLite planner) {
+        int start = planner.start();
+        int goal = planner.goal();
+        SolveResult plan = planner.plan();
+        SolveResult bfs = new MazeSolver(grid).solveQueuePacked(start, goal);
+        assertEquals(message, bfs.found(), plan.found());
+        assertEquals(message, bfs.pathLength(), plan.pathLength());
+        if (plan.found()) {
+            TestGrids.assertValidPath(message, grid, plan.path(), start, goal);
+        }
+        return plan;
+    }
+}
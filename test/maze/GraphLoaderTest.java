@@ -0,0 +1,113 @@
+package maze;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+// O tokenizador do GraphLoader lê bytes, sem readLine nem split: comentários, tabs, CRLF,
+// linhas em branco, pesos, linhas que não são arestas e linhas maiores que o buffer.
+public class GraphLoaderTest {
+
+    // 5 arestas válidas; o resto é ignorado, e a última linha não tem '\n'
+    private final static String MIXED = "# comentário\n"
+            + "% outro comentário\n"
+            + "\n"
+            + "0 1\r\n"
+            + "1\t2\n"
+            + "  2 , 3 7\n"         // com peso
+            + "0 3 # fim da linha\n"
+            + "4\n"                 // um número só
+            + "x y\n"               // não é número
+            + "1 2 3 4\n"           // números demais
+            + "-\n"
+            + "5 6x\n"              // número colado em outro texto
+            + "\r\n"
+            + "3 0";
+
+    @Test
+    public void directedEdgeList() throws IOException {
+        Graph graph = GraphLoader.load(write(MIXED), true);
+        assertEquals("vértices", 4, graph.vertexCount());
+        assertEquals("arestas", 5, graph.edgeCount());
+        assertTrue("dirigido", graph.isDirected());
+        assertTrue("com pesos", graph.hasWeights());
+        assertArrayEquals("offsets", new int[] {0, 2, 3, 4, 5}, graph.offsets());
+        assertArrayEquals("targets", new int[] {1, 3, 2, 3, 0}, graph.targets());
+        assertArrayEquals("pesos", new int[] {1, 1, 1, 7, 1}, graph.weights());
+    }
+
+    @Test
+    public void undirectedEdgeListStoresBothArcs() throws IOException {
+        Graph graph = GraphLoader.load(write(MIXED), false);
+        assertEquals("vértices", 4, graph.vertexCount());
+        assertEquals("arestas", 5, graph.edgeCount());
+        assertEquals("arcos", 10, graph.arcCount());
+        // arcos de cada vértice na ordem das linhas do arquivo
+        assertArrayEquals("offsets", new int[] {0, 3, 5, 7, 10}, graph.offsets());
+        assertArrayEquals("targets", new int[] {1, 3, 3, 0, 2, 1, 3, 2, 0, 0}, graph.targets());
+        assertArrayEquals("pesos", new int[] {1, 1, 1, 1, 1, 1, 7, 7, 1, 1}, graph.weights());
+    }
+
+    @Test
+    public void unweightedFileHasNoWeights() throws IOException {
+        Graph graph = GraphLoader.load(write("0 1\n1 2\n"), true);
+        assertFalse("sem pesos", graph.hasWeights());
+        assertEquals("peso padrão", 1, graph.weight(0));
+    }
+
+    // uma linha maior que o buffer de 64 KB e arestas que atravessam a troca de buffer
+    @Test
+    public void linesAcrossBufferRefills() throws IOException {
+        StringBuilder text = new StringBuilder("#");
+        for (int k = 0; k < 200000; k++) {
+            text.append('c');
+        }
+        text.append('\n');
+        int n = 30000;
+        for (int k = 0; k < n; k++) {
+            text.append(k).append(' ').append(k + 1).append(k % 2 == 0 ? "\n" : "\r\n");
+        }
+        Graph graph = GraphLoader.load(write(text.toString()), true);
+        assertEquals("vértices", n + 1, graph.vertexCount());
+        assertEquals("arestas", n, graph.edgeCount());
+        for (int k = 0; k < n; k++) {
+            assertEquals("grau de " + k, 1, graph.degree(k));
+            assertEquals("arco de " + k, k + 1, graph.target(graph.firstArc(k)));
+        }
+    }
+
+    @Test
+    public void rejectsInvalidVertexAndWeight() throws IOException {
+        expectFailure("0 1\n2 -1\n");                 // vértice negativo
+        expectFailure("0 99999999999\n");             // vértice fora do int
+        expectFailure("0 1 99999999999\n");           // peso fora do int
+    }
+
+    private static void expectFailure(String text) throws IOException {
+        String path = write(text);
+        try {
+            GraphLoader.load(path);
+            fail("deveria recusar: " + text.trim());
+        } catch (IOException expected) {
+            // ok
+        }
+    }
+
+    private static String write(String text) throws IOException {
+        File file = File.createTempFile("graph", ".txt");
+        file.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return file.getPath();
+    }
+}
@@ -0,0 +1,111 @@
+package maze;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// A BFS por direção troca entre os passos de cima para baixo e de baixo para cima no meio da
+// busca; em qualquer combinação as distâncias têm que ser as da BFS comum (solveQueue).
+public class GraphSolverTest {
+
+    @Test
+    public void directionOptimizingMatchesQueueOnUndirectedGraphs() {
+        compareOnRandomGraphs(new SplittableRandom(12L), false);
+    }
+
+    @Test
+    public void directionOptimizingMatchesQueueOnDirectedGraphs() {
+        compareOnRandomGraphs(new SplittableRandom(1212L), true);
+    }
+
+    // alpha e beta enormes: troca para baixo para cima no primeiro nível e nunca volta
+    @Test
+    public void forcedBottomUpRunsBottomUpLevels() {
+        SplittableRandom rnd = new SplittableRandom(121212L);
+        Graph graph = randomGraph(rnd, 500, 3000, false);
+        GraphSolver solver = new GraphSolver(graph);
+        solver.setSwitchFactors(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        solver.solveDirectionOptimizing(0, -1);
+        assertTrue("níveis de baixo para cima", solver.lastBottomUpLevels() > 0);
+    }
+
+    private static void compareOnRandomGraphs(SplittableRandom rnd, boolean directed) {
+        // {alpha, beta}: o padrão, só de cima para baixo (na prática), só de baixo para cima,
+        // e trocando a cada nível
+        int[][] factors = {
+                {GraphSolver.DEFAULT_ALPHA, GraphSolver.DEFAULT_BETA},
+                {1, 1},
+                {Integer.MAX_VALUE, Integer.MAX_VALUE},
+                {Integer.MAX_VALUE, 1},
+        };
+        for (int t = 0; t < 200; t++) {
+            int n = 1 + rnd.nextInt(300);
+            int edges = rnd.nextInt(n * (1 + rnd.nextInt(8)) + 1);
+            Graph graph = randomGraph(rnd, n, edges, directed);
+            GraphSolver bfs = new GraphSolver(graph);
+            GraphSolver solver = new GraphSolver(graph);
+            for (int[] f : factors) {
+                solver.setSwitchFactors(f[0], f[1]);
+                for (int q = 0; q < 5; q++) {
+                    int source = rnd.nextInt(n);
+                    int target = q == 0 ? -1 : rnd.nextInt(n);
+                    String message = "grafo " + t + " (n=" + n + ", arestas=" + edges + ", alpha=" + f[0]
+                            + ", beta=" + f[1] + ", " + source + " -> " + target + ")";
+                    SolveResult expected = bfs.solveQueue(source, target);
+                    SolveResult actual = solver.solveDirectionOptimizing(source, target);
+                    assertEquals(message, expected.found(), actual.found());
+                    assertEquals(message, expected.pathLength(), actual.pathLength());
+                    if (target < 0) {
+                        assertEquals(message + ": visitados", expected.visitedCount(), actual.visitedCount());
+                    }
+                    if (actual.found()) {
+                        assertValidPath(message, graph, actual.path(), source, target);
+                    }
+                }
+            }
+        }
+    }
+
+    // arestas ao acaso, com laços e repetidas, no formato CSR do GraphLoader
+    private static Graph randomGraph(SplittableRandom rnd, int n, int edges, boolean directed) {
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < edges; e++) {
+            from[e] = rnd.nextInt(n);
+            to[e] = rnd.nextInt(n);
+            offsets[from[e] + 1]++;
+            if (!directed) {
+                offsets[to[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] free = new int[n];
+        System.arraycopy(offsets, 0, free, 0, n);
+        int[] targets = new int[offsets[n]];
+        for (int e = 0; e < edges; e++) {
+            targets[free[from[e]]++] = to[e];
+            if (!directed) {
+                targets[free[to[e]]++] = from[e];
+            }
+        }
+        return new Graph(offsets, targets, null, edges, directed);
+    }
+
+    // cada passo do caminho é um arco do grafo
+    private static void assertValidPath(String message, Graph graph, int[] path, int source, int target) {
+        assertEquals(message + ": origem", source, path[0]);
+        assertEquals(message + ": destino", target, path[path.length - 1]);
+        for (int k = 1; k < path.length; k++) {
+            boolean arc = false;
+            for (int a = graph.firstArc(path[k - 1]); a < graph.firstArc(path[k - 1] + 1); a++) {
+                arc |= graph.target(a) == path[k];
+            }
+            assertTrue(message + ": sem arco " + path[k - 1] + " -> " + path[k], arc);
+        }
+    }
+}
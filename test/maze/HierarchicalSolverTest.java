@@ -0,0 +1,69 @@
+package maze;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// O HPA* só garante achar a saída quando ela existe, não o caminho mais curto: o caminho tem
+// que ser válido e nunca mais curto que o da BFS. Depois de mudanças de parede, só os
+// clusters tocados são refeitos, e o resultado tem que continuar igual ao de uma BFS do zero.
+public class HierarchicalSolverTest {
+
+    @Test
+    public void agreesWithBfsOnRandomGrids() {
+        SplittableRandom rnd = new SplittableRandom(17L);
+        for (int t = 0; t < 300; t++) {
+            int width = 1 + rnd.nextInt(50);
+            int height = 1 + rnd.nextInt(50);
+            MazeGrid grid = TestGrids.random(rnd, width, height, rnd.nextDouble() * 0.45);
+            HierarchicalSolver solver = new HierarchicalSolver(grid, 2 + rnd.nextInt(9));
+            for (int q = 0; q < 10; q++) {
+                int start = rnd.nextInt(grid.size());
+                int goal = rnd.nextInt(grid.size());
+                grid.set(start, MazeGrid.C);
+                grid.set(goal, MazeGrid.C);
+                // sem attach: as duas células podem ter mudado, então monta de novo
+                solver = new HierarchicalSolver(grid, solver.clusterSize());
+                check("grade " + t + " consulta " + q, grid, solver, start, goal);
+            }
+        }
+    }
+
+    @Test
+    public void agreesWithBfsAfterWallEdits() {
+        SplittableRandom rnd = new SplittableRandom(1717L);
+        for (int t = 0; t < 100; t++) {
+            int width = 4 + rnd.nextInt(60);
+            int height = 4 + rnd.nextInt(60);
+            MazeGrid grid = TestGrids.random(rnd, width, height, rnd.nextDouble() * 0.4);
+            HierarchicalSolver solver = HierarchicalSolver.attach(grid, 2 + rnd.nextInt(9));
+            for (int round = 0; round < 20; round++) {
+                // alterna células entre livre e X/V/P ao acaso, inclusive nas bordas dos clusters
+                int changes = 1 + rnd.nextInt(8);
+                for (int c = 0; c < changes; c++) {
+                    TestGrids.toggle(rnd, grid, rnd.nextInt(grid.size()));
+                }
+                for (int q = 0; q < 3; q++) {
+                    int start = TestGrids.freeCell(rnd, grid);
+                    int goal = TestGrids.freeCell(rnd, grid);
+                    check("grade " + t + " rodada " + round + " consulta " + q, grid, solver, start, goal);
+                }
+            }
+            solver.detach();
+        }
+    }
+
+    private static void check(String message, MazeGrid grid, HierarchicalSolver solver, int start, int goal) {
+        message += " (" + grid.width() + "x" + grid.height() + ", cluster " + solver.clusterSize()
+                + ", " + start + " -> " + goal + ")";
+        SolveResult bfs = new MazeSolver(grid).solveQueuePacked(start, goal);
+        SolveResult hpa = solver.solve(start, goal);
+        assertEquals(message, bfs.found(), hpa.found());
+        if (hpa.found()) {
+            TestGrids.assertValidPath(message, grid, hpa.path(), start, goal);
+            assertTrue(message + ": mais curto que a BFS", hpa.pathLength() >= bfs.pathLength());
+        }
+    }
+}
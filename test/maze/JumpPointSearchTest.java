@@ -0,0 +1,56 @@
+package maze;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+// A JPS 4-conectada poda vizinhos pela ordem canônica (vertical antes da horizontal); um
+// erro nessa poda some com caminhos sem nenhum sintoma além de respostas diferentes da BFS.
+public class JumpPointSearchTest {
+
+    @Test
+    public void sameLengthAsBfsOnRandomGrids() {
+        SplittableRandom rnd = new SplittableRandom(20240611L);
+        for (int t = 0; t < 2000; t++) {
+            int width = 1 + rnd.nextInt(40);
+            int height = 1 + rnd.nextInt(40);
+            double density = rnd.nextDouble() * 0.45;
+            MazeGrid grid = TestGrids.random(rnd, width, height, density);
+            int start = rnd.nextInt(grid.size());
+            int goal = rnd.nextInt(grid.size());
+            grid.set(start, MazeGrid.C);
+            grid.set(goal, MazeGrid.C);
+
+            String message = "grade " + t + " (" + width + "x" + height + ", " + start + " -> " + goal + ")";
+            SolveResult bfs = new MazeSolver(grid).solveQueuePacked(start, goal);
+            SolveResult jps = new AStarSolver(grid).solveJumpPoint(start, goal);
+
+            assertEquals(message, bfs.found(), jps.found());
+            assertEquals(message, bfs.pathLength(), jps.pathLength());
+            if (jps.found()) {
+                TestGrids.assertValidPath(message, grid, jps.path(), start, goal);
+            }
+        }
+    }
+
+    // o mesmo solver reaproveita os buffers entre buscas
+    @Test
+    public void reusedSolverMatchesBfs() {
+        SplittableRandom rnd = new SplittableRandom(7L);
+        MazeGrid grid = TestGrids.random(rnd, 64, 48, 0.3);
+        AStarSolver jps = new AStarSolver(grid);
+        MazeSolver bfs = new MazeSolver(grid);
+        for (int t = 0; t < 300; t++) {
+            int start = TestGrids.freeCell(rnd, grid);
+            int goal = TestGrids.freeCell(rnd, grid);
+            String message = "consulta " + t + " (" + start + " -> " + goal + ")";
+            SolveResult expected = bfs.solveQueuePacked(start, goal);
+            SolveResult actual = jps.solveJumpPoint(start, goal);
+            assertEquals(message, expected.pathLength(), actual.pathLength());
+            if (actual.found()) {
+                TestGrids.assertValidPath(message, grid, actual.path(), start, goal);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package maze;
+
+import java.io.File;
+import java.io.IOException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Labirinto perfeito = as células livres formam uma árvore: um único componente e exatamente
+// (células livres - 1) ligações entre vizinhas livres (nenhum ciclo). Inclui larguras e
+// alturas pares, em que a última coluna ou linha fica toda de parede.
+public class MazeGeneratorTest {
+
+    final static int[][] SIZES = {
+            {3, 3}, {4, 4}, {5, 8}, {10, 7}, {31, 21}, {64, 50}, {101, 99}, {2 * 40 + 2, 3},
+    };
+
+    @Test
+    public void generatorsBuildPerfectMazes() {
+        for (int[] size : SIZES) {
+            for (long seed = 1; seed <= 5; seed++) {
+                int w = size[0];
+                int h = size[1];
+                String message = w + "x" + h + " semente " + seed;
+                assertPerfect("backtracker " + message, MazeGenerator.recursiveBacktracker(w, h, seed));
+                assertPerfect("kruskal " + message, MazeGenerator.kruskal(w, h, seed));
+                assertPerfect("eller " + message, MazeGenerator.eller(w, h, seed));
+            }
+        }
+    }
+
+    @Test
+    public void ellerToFileMatchesEllerInMemory() throws IOException {
+        for (int[] size : SIZES) {
+            for (int bits : new int[] {1, 8}) {
+                long seed = 31L * size[0] + size[1];
+                MazeGrid expected = MazeGenerator.eller(size[0], size[1], seed);
+                File file = File.createTempFile("eller", ".maze");
+                file.deleteOnExit();
+                MazeGenerator.ellerToFile(file.getPath(), size[0], size[1], seed, bits);
+
+                String message = size[0] + "x" + size[1] + ", " + bits + " bit(s) por célula";
+                try (MappedMaze mapped = MappedMaze.open(file.getPath())) {
+                    assertEquals(message + ": largura", expected.width(), mapped.width());
+                    assertEquals(message + ": altura", expected.height(), mapped.height());
+                    assertEquals(message + ": início", expected.start(), mapped.start());
+                    assertEquals(message + ": objetivo", expected.goal(), mapped.goal());
+                    for (int k = 0; k < expected.size(); k++) {
+                        assertEquals(message + ": célula " + k, expected.get(k) == MazeGrid.X, mapped.isWall(k));
+                    }
+                }
+            }
+        }
+    }
+
+    // também usado pelo teste do TiledMazeGenerator
+    static void assertPerfect(String message, MazeGrid grid) {
+        int cols = grid.width();
+        int free = 0;
+        long links = 0;
+        for (int k = 0; k < grid.size(); k++) {
+            if (grid.get(k) == MazeGrid.X) {
+                continue;
+            }
+            free++;
+            if (k % cols + 1 < cols && grid.get(k + 1) != MazeGrid.X) {
+                links++;
+            }
+            if (k + cols < grid.size() && grid.get(k + cols) != MazeGrid.X) {
+                links++;
+            }
+        }
+        assertTrue(message + ": início livre", grid.get(grid.start()) != MazeGrid.X);
+        assertTrue(message + ": objetivo livre", grid.get(grid.goal()) != MazeGrid.X);
+        assertEquals(message + ": ligações", free - 1, links);
+        assertEquals(message + ": um componente", free, reachable(grid, grid.start()));
+    }
+
+    // células livres alcançáveis a partir de start (qualquer valor que não seja X)
+    private static int reachable(MazeGrid grid, int start) {
+        int cols = grid.width();
+        boolean[] seen = new boolean[grid.size()];
+        int[] queue = new int[grid.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        seen[start] = true;
+        while (head < tail) {
+            int crt = queue[head++];
+            int[] around = {crt - cols, crt % cols + 1 < cols ? crt + 1 : -1, crt % cols > 0 ? crt - 1 : -1, crt + cols};
+            for (int next : around) {
+                if (next >= 0 && next < grid.size() && !seen[next] && grid.get(next) != MazeGrid.X) {
+                    seen[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return tail;
+    }
+}
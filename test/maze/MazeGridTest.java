@@ -0,0 +1,50 @@
+package maze;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+// Início e objetivo sempre marcados com S e E na grade, e nunca em cima de uma parede.
+public class MazeGridTest {
+
+    @Test
+    public void defaultEndpointsAreMarked() {
+        MazeGrid grid = new MazeGrid(4, 3);
+        assertEquals("início", MazeGrid.S, grid.get(grid.start()));
+        assertEquals("objetivo", MazeGrid.E, grid.get(grid.goal()));
+        assertEquals("objetivo na última célula", grid.size() - 1, grid.goal());
+    }
+
+    @Test
+    public void movingEndpointsClearsOldMarks() {
+        MazeGrid grid = new MazeGrid(4, 3);
+        grid.setStart(1, 1);
+        grid.setGoal(2, 0);
+        assertEquals("início antigo", MazeGrid.C, grid.get(0));
+        assertEquals("objetivo antigo", MazeGrid.C, grid.get(grid.size() - 1));
+        assertEquals("início", MazeGrid.S, grid.get(1, 1));
+        assertEquals("objetivo", MazeGrid.E, grid.get(2, 0));
+    }
+
+    @Test
+    public void endpointsOnWallsAreRefused() {
+        MazeGrid grid = new MazeGrid(4, 3);
+        grid.set(1, 2, MazeGrid.X);
+        try {
+            grid.setStart(1, 2);
+            fail("início na parede");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+        try {
+            grid.setGoal(1, 2);
+            fail("objetivo na parede");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+        assertEquals("a parede continua", MazeGrid.X, grid.get(1, 2));
+        assertEquals("início não mudou", 0, grid.start());
+        assertEquals("objetivo não mudou", grid.size() - 1, grid.goal());
+    }
+}
@@ -0,0 +1,86 @@
+package maze;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+// Início ou objetivo numa parede: nenhum solver pode expandir a célula como se fosse livre
+// (o caminho passaria pela parede); fora da grade é erro de quem chamou.
+public class MazeSolverTest {
+
+    private interface Search {
+        SolveResult run(int start, int goal);
+    }
+
+    @Test
+    public void blockedEndpointsAreUnreachable() {
+        MazeGrid grid = new MazeGrid(5, 3);
+        int wall = grid.index(1, 2);
+        grid.set(wall, MazeGrid.X);
+        int free = grid.index(2, 4);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (Search search : searches(grid, pool)) {
+                assertUnreachable("início na parede", search.run(wall, free));
+                assertUnreachable("objetivo na parede", search.run(free, wall));
+                assertUnreachable("início e objetivo na parede", search.run(wall, wall));
+                expectRejected(search, -1, free);
+                expectRejected(search, free, grid.size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void batchRejectsWallsAndOutOfRange() {
+        MazeGrid grid = new MazeGrid(4, 4);
+        int wall = grid.index(2, 1);
+        grid.set(wall, MazeGrid.X);
+        try (BatchSolver batch = new BatchSolver(grid, 1)) {
+            for (int[] query : new int[][] {{wall, 0}, {0, wall}, {-1, 0}, {0, grid.size()}}) {
+                try {
+                    batch.submit(query[0], query[1]);
+                    fail("deveria recusar " + query[0] + " -> " + query[1]);
+                } catch (IllegalArgumentException expected) {
+                    // ok
+                }
+            }
+        }
+    }
+
+    private static Search[] searches(MazeGrid grid, ForkJoinPool pool) {
+        MazeSolver bfs = new MazeSolver(grid);
+        AStarSolver informed = new AStarSolver(grid);
+        WeightedSolver weighted = new WeightedSolver(grid);
+        ParallelBfs parallel = new ParallelBfs(grid, pool, 0);
+        return new Search[] {
+                bfs::solveQueuePacked,
+                bfs::solveStack,
+                bfs::solveBidirectional,
+                (s, g) -> bfs.solveQueue(s / grid.width(), s % grid.width(), g / grid.width(), g % grid.width()),
+                informed::solveAStar,
+                informed::solveJumpPoint,
+                weighted::solveDijkstra,
+                weighted::solveZeroOne,
+                parallel::solve,
+        };
+    }
+
+    private static void assertUnreachable(String message, SolveResult result) {
+        assertFalse(message, result.found());
+        assertEquals(message + ": visitadas", 0, result.visitedCount());
+    }
+
+    private static void expectRejected(Search search, int start, int goal) {
+        try {
+            search.run(start, goal);
+            fail("deveria recusar " + start + " -> " + goal);
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package maze;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+// Com limite 0 toda busca passa pelo caminho paralelo (reivindicação com CAS, junção dos
+// blocos e tracePath sobre as direções gravadas por várias threads), que com o limite
+// padrão só roda em labirintos com mais de um milhão de células.
+public class ParallelBfsTest {
+
+    @Test
+    public void sameLengthAsBfsOnRandomGrids() {
+        SplittableRandom rnd = new SplittableRandom(11L);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int t = 0; t < 300; t++) {
+                int width = 1 + rnd.nextInt(60);
+                int height = 1 + rnd.nextInt(60);
+                MazeGrid grid = TestGrids.random(rnd, width, height, rnd.nextDouble() * 0.45);
+                ParallelBfs parallel = new ParallelBfs(grid, pool, 0);
+                MazeSolver bfs = new MazeSolver(grid);
+                for (int q = 0; q < 5; q++) {
+                    int start = TestGrids.freeCell(rnd, grid);
+                    int goal = TestGrids.freeCell(rnd, grid);
+                    check("grade " + t + " consulta " + q, grid, bfs, parallel, start, goal);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // fronteiras maiores que um bloco (4096 células): o nível é dividido em tarefas. Partindo
+    // do centro de uma grade de 3000 x 3000 quase vazia, a onda passa de 5000 células.
+    @Test
+    public void sameLengthAsBfsWithManyChunks() {
+        SplittableRandom rnd = new SplittableRandom(1111L);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MazeGrid grid = TestGrids.random(rnd, 3000, 3000, 0.05);
+            int center = grid.index(1500, 1500);
+            grid.set(center, MazeGrid.C);
+            grid.set(0, MazeGrid.C);
+            // objetivo fechado por paredes: as duas buscas percorrem o componente inteiro
+            int closed = grid.index(2999, 2999);
+            grid.set(closed, MazeGrid.C);
+            grid.set(closed - 1, MazeGrid.X);
+            grid.set(closed - 3000, MazeGrid.X);
+            ParallelBfs parallel = new ParallelBfs(grid, pool, 0);
+            MazeSolver bfs = new MazeSolver(grid);
+            check("centro ao canto", grid, bfs, parallel, center, 0);
+            check("objetivo fechado", grid, bfs, parallel, center, closed);
+            for (int q = 0; q < 2; q++) {
+                check("consulta " + q, grid, bfs, parallel, center, TestGrids.freeCell(rnd, grid));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void check(String message, MazeGrid grid, MazeSolver bfs, ParallelBfs parallel,
+                              int start, int goal) {
+        message += " (" + grid.width() + "x" + grid.height() + ", " + start + " -> " + goal + ")";
+        SolveResult expected = bfs.solveQueuePacked(start, goal);
+        SolveResult actual = parallel.solve(start, goal);
+        assertEquals(message, expected.found(), actual.found());
+        assertEquals(message, expected.pathLength(), actual.pathLength());
+        if (actual.found()) {
+            TestGrids.assertValidPath(message, grid, actual.path(), start, goal);
+        } else {
+            // sem objetivo alcançável, as duas visitam o componente inteiro do início
+            assertEquals(message + ": visitadas", expected.visitedCount(), actual.visitedCount());
+        }
+    }
+}
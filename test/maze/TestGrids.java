@@ -0,0 +1,65 @@
+package maze;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Grades aleatórias com semente fixa e a checagem de caminho usada pelos testes dos solvers.
+final class TestGrids {
+
+    // o que toggle() põe no lugar de uma célula livre (parede com mais frequência)
+    private final static int[] BLOCKED = {MazeGrid.X, MazeGrid.X, MazeGrid.V, MazeGrid.P};
+
+    private TestGrids() {
+    }
+
+    // paredes (X) espalhadas com a densidade pedida; o resto fica livre (C)
+    static MazeGrid random(SplittableRandom rnd, int width, int height, double density) {
+        MazeGrid grid = new MazeGrid(width, height);
+        for (int k = 0; k < grid.size(); k++) {
+            if (rnd.nextDouble() < density) {
+                grid.set(k, MazeGrid.X);
+            }
+        }
+        return grid;
+    }
+
+    // célula livre ao acaso (a grade precisa ter pelo menos uma)
+    static int freeCell(SplittableRandom rnd, MazeGrid grid) {
+        while (true) {
+            int cell = rnd.nextInt(grid.size());
+            if (grid.isClear(cell)) {
+                return cell;
+            }
+        }
+    }
+
+    // livre vira um dos valores que bloqueiam a busca (X, ou as marcas V e P), e vice-versa
+    static void toggle(SplittableRandom rnd, MazeGrid grid, int cell) {
+        if (grid.isClear(cell)) {
+            grid.set(cell, BLOCKED[rnd.nextInt(BLOCKED.length)]);
+        } else {
+            grid.set(cell, MazeGrid.C);
+        }
+    }
+
+    // o caminho vai de start a goal, por células livres (MazeGrid.isClear), um passo na horizontal ou vertical por vez
+    static void assertValidPath(String message, MazeGrid grid, int[] path, int start, int goal) {
+        int cols = grid.width();
+        assertTrue(message + ": caminho vazio", path != null && path.length > 0);
+        assertEquals(message + ": início", start, path[0]);
+        assertEquals(message + ": objetivo", goal, path[path.length - 1]);
+        for (int k = 0; k < path.length; k++) {
+            assertTrue(message + ": célula bloqueada no passo " + k, grid.isClear(path[k]));
+            if (k > 0) {
+                int a = path[k - 1];
+                int b = path[k];
+                boolean horizontal = Math.abs(a - b) == 1 && a / cols == b / cols;
+                boolean vertical = Math.abs(a - b) == cols;
+                assertTrue(message + ": passo " + k + " não é vizinho (" + a + " -> " + b + ")",
+                        horizontal || vertical);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package maze;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+// Blocos gerados em paralelo e costurados por uma árvore: o resultado continua perfeito e
+// não depende da quantidade de threads.
+public class TiledMazeGeneratorTest {
+
+    @Test
+    public void tiledMazesArePerfect() {
+        for (int[] size : MazeGeneratorTest.SIZES) {
+            for (int tileRooms : new int[] {1, 3, 64}) {
+                MazeGrid grid = TiledMazeGenerator.generate(size[0], size[1], 7L, tileRooms, ForkJoinPool.commonPool());
+                MazeGeneratorTest.assertPerfect(size[0] + "x" + size[1] + " bloco " + tileRooms, grid);
+            }
+        }
+    }
+
+    // a semente de cada bloco é sorteada antes das tarefas: 1 ou 4 threads dão o mesmo labirinto
+    @Test
+    public void tiledOutputDoesNotDependOnThreads() {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            for (int tileRooms : new int[] {1, 3, 8}) {
+                for (long seed = 1; seed <= 4; seed++) {
+                    MazeGrid a = TiledMazeGenerator.generate(121, 90, seed, tileRooms, one);
+                    MazeGrid b = TiledMazeGenerator.generate(121, 90, seed, tileRooms, four);
+                    String message = "bloco " + tileRooms + " semente " + seed;
+                    for (int k = 0; k < a.size(); k++) {
+                        assertEquals(message + ": célula " + k, a.get(k), b.get(k));
+                    }
+                    MazeGeneratorTest.assertPerfect(message, b);
+                }
+            }
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+}